@@ -0,0 +1,27 @@
+package com.shabin.aistudysummarizer.blob;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Content-addressed storage for original uploads. A blob is named by the lowercase hex SHA-256
+ * of its bytes, so identical files are stored once and a stored blob never changes.
+ */
+public interface BlobStore {
+
+    boolean contains(String hash);
+
+    /**
+     * Store content under its hash. Does nothing if the blob already exists.
+     * @param hash Expected SHA-256 of the content
+     * @throws IOException if the content does not match the hash or cannot be written
+     */
+    void put(String hash, InputStream content) throws IOException;
+
+    /**
+     * Read-only view of a blob's bytes. Implementations should avoid copying the blob onto the heap.
+     * @throws java.nio.file.NoSuchFileException if there is no blob with the hash
+     */
+    ByteBuffer read(String hash) throws IOException;
+}
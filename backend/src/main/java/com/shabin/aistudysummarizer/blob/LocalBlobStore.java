@@ -0,0 +1,93 @@
+package com.shabin.aistudysummarizer.blob;
+
+import com.shabin.aistudysummarizer.util.ContentHashUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Blob store on the local filesystem. Blobs live at {@code <root>/ab/cd/<hash>}, so no directory
+ * grows too large. Writes go to a temp file in the root that is moved into place once its hash
+ * is verified, so a blob is either complete or absent. Reads map the file instead of copying it.
+ */
+@Component
+public class LocalBlobStore implements BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${storage.blob-dir:blobs}") String root) throws IOException {
+        this.root = Files.createDirectories(Path.of(root));
+    }
+
+    @Override
+    public boolean contains(String hash) {
+        return Files.exists(pathOf(hash));
+    }
+
+    @Override
+    public void put(String hash, InputStream content) throws IOException {
+        Path target = pathOf(hash);
+        if (Files.exists(target)) {
+            return;
+        }
+
+        Path temp = Files.createTempFile(root, "incoming-", ".tmp");
+        try {
+            MessageDigest digest = ContentHashUtil.newSha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                content.transferTo(out);
+            }
+            String actual = HexFormat.of().formatHex(digest.digest());
+            if (!actual.equals(hash)) {
+                throw new IOException("Blob content hashes to " + actual + ", expected " + hash);
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently by another upload of the same file
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Map the blob read-only. The mapping stays valid after the channel is closed and is
+     * released when the buffer is garbage collected.
+     */
+    @Override
+    public ByteBuffer read(String hash) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathOf(hash), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Blob " + hash + " is too large to map: " + size + " bytes");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private Path pathOf(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hex hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+}
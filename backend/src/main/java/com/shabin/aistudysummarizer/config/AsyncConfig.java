@@ -3,17 +3,19 @@ package com.shabin.aistudysummarizer.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
 /**
- * Configuration for asynchronous processing and caching.
- * Enables @Async and @Cacheable annotations throughout the application.
+ * Configuration for asynchronous processing, scheduled tasks and caching.
+ * Enables @Async, @Scheduled and @Cacheable annotations throughout the application.
  */
 @Configuration
 @EnableAsync
+@EnableScheduling
 @EnableCaching
 public class AsyncConfig {
 
@@ -0,0 +1,88 @@
+package com.shabin.aistudysummarizer.config;
+
+import com.shabin.aistudysummarizer.datasource.ReadWriteRoutingDataSource;
+import com.shabin.aistudysummarizer.datasource.ReadYourWritesTracker;
+import com.shabin.aistudysummarizer.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica routing, enabled by setting spring.datasource.replica.url.
+ * Read-only transactions go to the replica pool; writes, reads outside a transaction, and reads
+ * that must see a recent write go to the primary pool configured by spring.datasource.*.
+ * Without a replica URL, Spring Boot's single data source is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Credentials default to the primary's, as a streaming replica shares its users
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties primary,
+            @Value("${spring.datasource.replica.url}") String url,
+            @Value("${spring.datasource.replica.username:}") String username,
+            @Value("${spring.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primary.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? primary.determineUsername() : username)
+                .password(username.isEmpty() ? primary.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${spring.datasource.replica.max-lag-seconds:5}") double maxLagSeconds,
+            @Value("${spring.datasource.replica.lag-check-interval-ms:1000}") long checkIntervalMillis) {
+        return new ReplicaLagMonitor(primary, replica, maxLagSeconds, checkIntervalMillis);
+    }
+
+    /**
+     * A user's reads stay on the primary for this long after their last write, so a page
+     * loaded right after saving never misses the change
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${spring.datasource.replica.sticky-window-ms:5000}") long windowMillis) {
+        return new ReadYourWritesTracker(windowMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWrites) {
+        // Lazy, so the connection is fetched once the transaction's read-only flag is known
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, lagMonitor, readYourWrites));
+    }
+}
@@ -0,0 +1,60 @@
+package com.shabin.aistudysummarizer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+/**
+ * Configuration for CPU-bound document parsing.
+ * Uploads are extracted on the extraction executor, off the servlet threads; work inside a single
+ * document (page ranges, slides, OCR regions) is fanned out on the parsing executor.
+ */
+@Configuration
+public class ExtractionConfig {
+
+    /**
+     * Fixed-size pool sized to the available cores.
+     * Tasks submitted here must not block waiting on other tasks in the same pool.
+     */
+    @Bean(name = "documentParsingExecutor")
+    public ThreadPoolTaskExecutor documentParsingExecutor(
+            @Value("${extraction.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(Integer.MAX_VALUE);  // Bounded by callers: one task per page range
+        executor.setThreadNamePrefix("doc-parse-");
+        executor.setAwaitTerminationSeconds(30);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * One worker per core with a bounded queue, so a burst of uploads is rejected quickly
+     * instead of piling up. Workers wait on the parsing executor, never on this pool.
+     * Tasks run as the submitting user: uploads are saved in continuations on these workers, and
+     * read-your-writes routing needs to know whose write it was.
+     */
+    @Bean(name = "documentExtractionExecutor")
+    public ThreadPoolTaskExecutor documentExtractionExecutor(
+            @Value("${extraction.workers:0}") int workers,
+            @Value("${extraction.queue-capacity:16}") int queueCapacity) {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);  // Full queue rejects with TaskRejectedException
+        executor.setThreadNamePrefix("doc-extract-");
+        executor.setTaskDecorator(DelegatingSecurityContextRunnable::new);
+        executor.setAwaitTerminationSeconds(60);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
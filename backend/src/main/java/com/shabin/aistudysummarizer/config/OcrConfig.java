@@ -0,0 +1,74 @@
+package com.shabin.aistudysummarizer.config;
+
+import com.shabin.aistudysummarizer.ocr.TesseractEngine;
+import com.shabin.aistudysummarizer.ocr.TesseractEnginePool;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.sourceforge.tess4j.ITessAPI.TessOcrEngineMode;
+import net.sourceforge.tess4j.ITessAPI.TessPageSegMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Supplier;
+
+/**
+ * Configuration for the Tesseract engine pools.
+ * The fast pool reads every image first with automatic page segmentation and the LSTM engine
+ * (point tesseract.fast-datapath at tessdata_fast models for the biggest gain), so the page is
+ * split into paragraphs. The accurate pool only re-reads the low-confidence paragraphs.
+ */
+@Configuration
+public class OcrConfig {
+
+    @Value("${tesseract.datapath:}")
+    private String datapath;
+
+    @Value("${tesseract.fast-datapath:}")
+    private String fastDatapath;
+
+    @Value("${tesseract.language:eng}")
+    private String language;
+
+    @Value("${ocr.pool.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMs;
+
+    @Value("${ocr.pool.prewarm:true}")
+    private boolean prewarm;
+
+    /**
+     * One fast engine per core unless ocr.pool.size is set
+     */
+    @Bean(name = "fastEnginePool", destroyMethod = "shutdown")
+    public TesseractEnginePool fastEnginePool(MeterRegistry meterRegistry,
+                                              @Value("${ocr.pool.size:0}") int size) {
+        String path = blankToNull(fastDatapath) != null ? fastDatapath : blankToNull(datapath);
+        return pool("fast", () -> new TesseractEngine(path, language,
+                        TessOcrEngineMode.OEM_LSTM_ONLY, TessPageSegMode.PSM_AUTO),
+                size > 0 ? size : Runtime.getRuntime().availableProcessors(), meterRegistry);
+    }
+
+    /**
+     * Smaller pool of accurate engines, since only escalated regions reach it
+     */
+    @Bean(name = "accurateEnginePool", destroyMethod = "shutdown")
+    public TesseractEnginePool accurateEnginePool(MeterRegistry meterRegistry,
+                                                  @Value("${ocr.pool.accurate-size:0}") int size) {
+        String path = blankToNull(datapath);
+        return pool("accurate", () -> new TesseractEngine(path, language,
+                        TessOcrEngineMode.OEM_DEFAULT, TessPageSegMode.PSM_AUTO),
+                size > 0 ? size : Math.max(1, Runtime.getRuntime().availableProcessors() / 2), meterRegistry);
+    }
+
+    private TesseractEnginePool pool(String name, Supplier<TesseractEngine> factory,
+                                     int size, MeterRegistry meterRegistry) {
+        TesseractEnginePool pool = new TesseractEnginePool(name, factory, size, borrowTimeoutMs, meterRegistry);
+        if (prewarm) {
+            pool.prewarm();
+        }
+        return pool;
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,53 @@
+package com.shabin.aistudysummarizer.controller;
+
+import com.shabin.aistudysummarizer.dto.ApiResponse;
+import com.shabin.aistudysummarizer.dto.document.ReextractionStatus;
+import com.shabin.aistudysummarizer.entity.SourceType;
+import com.shabin.aistudysummarizer.service.ReextractionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST API Controller for maintenance tasks. Restricted to administrators.
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Maintenance tasks for administrators")
+public class AdminController {
+
+    private final ReextractionService reextractionService;
+
+    /**
+     * Start extracting stored originals again
+     */
+    @PostMapping("/reextraction")
+    @Operation(summary = "Re-extract stored originals", description = "Run the current extractors over every stored original upload in the background and replace the extracted text. Returns the status of the run already in progress if there is one")
+    public ResponseEntity<ApiResponse<ReextractionStatus>> startReextraction(
+            @Parameter(description = "Only re-extract documents of this type", example = "PDF")
+            @RequestParam(required = false) SourceType sourceType) {
+
+        ReextractionStatus status = reextractionService.start(sourceType);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(status, "Re-extraction started"));
+    }
+
+    /**
+     * Progress of the latest re-extraction run
+     */
+    @GetMapping("/reextraction")
+    @Operation(summary = "Get re-extraction status", description = "Progress of the latest re-extraction run")
+    public ResponseEntity<ApiResponse<ReextractionStatus>> getReextractionStatus() {
+        return ResponseEntity.ok(ApiResponse.success(reextractionService.getStatus(),
+                "Re-extraction status retrieved successfully"));
+    }
+}
@@ -1,9 +1,12 @@
 package com.shabin.aistudysummarizer.controller;
 
 import com.shabin.aistudysummarizer.dto.ApiResponse;
+import com.shabin.aistudysummarizer.dto.document.BulkUploadResult;
+import com.shabin.aistudysummarizer.dto.document.DocumentListResponse;
 import com.shabin.aistudysummarizer.dto.document.DocumentUploadResponse;
 import com.shabin.aistudysummarizer.dto.document.PdfUploadDTO;
 import com.shabin.aistudysummarizer.dto.document.UrlSummaryDTO;
+import com.shabin.aistudysummarizer.service.BulkUploadService;
 import com.shabin.aistudysummarizer.service.DocumentService;
 import com.shabin.aistudysummarizer.service.DocumentValidationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,12 +15,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST API Controller for document management.
  * Handles document uploads and URL-based content extraction.
@@ -31,13 +41,35 @@ public class DocumentController {
 
         private final DocumentService documentService;
         private final DocumentValidationService validationService;
+        private final BulkUploadService bulkUploadService;
+
+        /**
+         * Get user's documents with pagination
+         */
+        @GetMapping
+        @Operation(summary = "Get user's documents", description = "List the authenticated user's documents with pagination. Extracted text is not included.")
+        public ResponseEntity<ApiResponse<Page<DocumentListResponse>>> getUserDocuments(
+                        @Parameter(description = "Page number (0-indexed)", example = "0")
+                        @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size", example = "20")
+                        @RequestParam(defaultValue = "20") int size,
+                        @Parameter(description = "Sort by field", example = "createdAt")
+                        @RequestParam(defaultValue = "createdAt") String sortBy,
+                        @Parameter(description = "Sort direction (ASC or DESC)", example = "DESC")
+                        @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+
+                Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+                Page<DocumentListResponse> documents = documentService.getUserDocuments(pageable);
+
+                return ResponseEntity.ok(ApiResponse.success(documents, "Documents retrieved successfully"));
+        }
 
         /**
          * Upload and process a PDF file
          */
         @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
         @Operation(summary = "Upload and process PDF", description = "Upload a PDF file for summarization. Supports files up to 50MB.")
-        public ResponseEntity<ApiResponse<DocumentUploadResponse>> uploadDocument(
+        public CompletableFuture<ResponseEntity<ApiResponse<DocumentUploadResponse>>> uploadDocument(
                         @Parameter(description = "PDF file to upload", required = true) @RequestParam("file") MultipartFile file,
                         @Parameter(description = "Document title", required = true) @RequestParam("title") String title) {
 
@@ -48,11 +80,30 @@ public class DocumentController {
                 validationService.validateFile(file);
                 validationService.validateTitle(title);
 
-                // Process and save document
-                DocumentUploadResponse response = documentService.uploadDocument(file, title, null);
+                // Process and save document; the request thread is released while extraction runs
+                return documentService.uploadDocument(file, title, null)
+                                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED)
+                                                .body(ApiResponse.success(response,
+                                                                "Document uploaded and processed successfully")));
+        }
+
+        /**
+         * Upload a ZIP archive and import each supported file in it as a document
+         */
+        @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        @Operation(summary = "Bulk upload from ZIP", description = "Upload a ZIP archive of documents. Each file is validated and processed separately and gets its own result.")
+        public ResponseEntity<ApiResponse<List<BulkUploadResult>>> uploadArchive(
+                        @Parameter(description = "ZIP archive to upload", required = true) @RequestParam("file") MultipartFile file) {
+
+                log.info("Bulk upload request: filename={}, size={} bytes", file.getOriginalFilename(),
+                                file.getSize());
+
+                List<BulkUploadResult> results = bulkUploadService.uploadArchive(file);
+                long imported = results.stream().filter(BulkUploadResult::isSuccess).count();
 
                 return ResponseEntity.status(HttpStatus.CREATED)
-                                .body(ApiResponse.success(response, "Document uploaded and processed successfully"));
+                                .body(ApiResponse.success(results,
+                                                imported + " of " + results.size() + " files processed successfully"));
         }
 
         /**
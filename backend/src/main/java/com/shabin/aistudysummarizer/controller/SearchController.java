@@ -0,0 +1,44 @@
+package com.shabin.aistudysummarizer.controller;
+
+import com.shabin.aistudysummarizer.dto.ApiResponse;
+import com.shabin.aistudysummarizer.dto.search.SearchResult;
+import com.shabin.aistudysummarizer.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST API Controller for searching the user's library.
+ */
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Full-text search over documents and summaries")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Search the user's documents and summaries
+     */
+    @GetMapping
+    @Operation(summary = "Search documents and summaries", description = "Rank the authenticated user's documents (title and text) and summaries (key terms and executive summary) against the query")
+    public ResponseEntity<ApiResponse<Slice<SearchResult>>> search(
+            @Parameter(description = "Search query; supports \"quoted phrases\", OR and -excluded words", example = "shortest path")
+            @RequestParam("q") String query,
+            @Parameter(description = "Page number (0-indexed)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+
+        Slice<SearchResult> results = searchService.search(query, page, size);
+        return ResponseEntity.ok(ApiResponse.success(results, "Search completed successfully"));
+    }
+}
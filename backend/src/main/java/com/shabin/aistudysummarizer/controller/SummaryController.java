@@ -1,6 +1,10 @@
 package com.shabin.aistudysummarizer.controller;
 
 import com.shabin.aistudysummarizer.dto.ApiResponse;
+import com.shabin.aistudysummarizer.dto.CursorPage;
+import com.shabin.aistudysummarizer.dto.summary.SummaryContent;
+import com.shabin.aistudysummarizer.dto.summary.SummaryItemsResponse;
+import com.shabin.aistudysummarizer.dto.summary.SummaryListResponse;
 import com.shabin.aistudysummarizer.dto.summary.SummaryRequestDTO;
 import com.shabin.aistudysummarizer.dto.summary.SummaryResponse;
 import com.shabin.aistudysummarizer.service.ISummaryService;
@@ -48,7 +52,7 @@ public class SummaryController {
      */
     @GetMapping
     @Operation(summary = "Get user's summaries", description = "Retrieve all summaries for the authenticated user with pagination")
-    public ResponseEntity<ApiResponse<Page<SummaryResponse>>> getUserSummaries(
+    public ResponseEntity<ApiResponse<Page<SummaryListResponse>>> getUserSummaries(
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "20")
@@ -59,11 +63,28 @@ public class SummaryController {
             @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<SummaryResponse> summaries = summaryService.getUserSummaries(pageable);
+        Page<SummaryListResponse> summaries = summaryService.getUserSummaries(pageable);
 
         return ResponseEntity.ok(ApiResponse.success(summaries, "Summaries retrieved successfully"));
     }
 
+    /**
+     * Get user's summaries by cursor, newest first
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll user's summaries", description = "Retrieve the authenticated user's summaries newest first, one slice at a time. Pass nextCursor from the previous slice to continue.")
+    public ResponseEntity<ApiResponse<CursorPage<SummaryListResponse>>> scrollUserSummaries(
+            @Parameter(description = "nextCursor of the previous slice; omit for the first slice")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also count all summaries of the user", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<SummaryListResponse> summaries = summaryService.getUserSummaries(cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(summaries, "Summaries retrieved successfully"));
+    }
+
     /**
      * Get a specific summary by ID
      */
@@ -80,11 +101,11 @@ public class SummaryController {
      * Generate additional MCQs for a summary
      */
     @PostMapping("/{id}/mcqs")
-    @Operation(summary = "Generate more MCQs", description = "Generate additional multiple choice questions for an existing summary")
-    public ResponseEntity<ApiResponse<SummaryResponse>> generateMoreMcqs(
+    @Operation(summary = "Generate more MCQs", description = "Generate additional multiple choice questions for an existing summary. Returns only the new MCQs and the updated counts.")
+    public ResponseEntity<ApiResponse<SummaryItemsResponse<SummaryContent.Mcq>>> generateMoreMcqs(
             @Parameter(description = "Summary ID (UUID)")
             @PathVariable UUID id) {
-        SummaryResponse response = summaryService.generateMoreMcqs(id);
+        SummaryItemsResponse<SummaryContent.Mcq> response = summaryService.generateMoreMcqs(id);
         return ResponseEntity.ok(ApiResponse.success(response, "MCQs generated successfully"));
     }
 
@@ -92,11 +113,11 @@ public class SummaryController {
      * Generate additional flashcards for a summary
      */
     @PostMapping("/{id}/flashcards")
-    @Operation(summary = "Generate more flashcards", description = "Generate additional flashcards for an existing summary")
-    public ResponseEntity<ApiResponse<SummaryResponse>> generateMoreFlashcards(
+    @Operation(summary = "Generate more flashcards", description = "Generate additional flashcards for an existing summary. Returns only the new flashcards and the updated counts.")
+    public ResponseEntity<ApiResponse<SummaryItemsResponse<SummaryContent.Flashcard>>> generateMoreFlashcards(
             @Parameter(description = "Summary ID (UUID)")
             @PathVariable UUID id) {
-        SummaryResponse response = summaryService.generateMoreFlashcards(id);
+        SummaryItemsResponse<SummaryContent.Flashcard> response = summaryService.generateMoreFlashcards(id);
         return ResponseEntity.ok(ApiResponse.success(response, "Flashcards generated successfully"));
     }
 
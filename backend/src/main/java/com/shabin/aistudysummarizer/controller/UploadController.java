@@ -0,0 +1,105 @@
+package com.shabin.aistudysummarizer.controller;
+
+import com.shabin.aistudysummarizer.dto.ApiResponse;
+import com.shabin.aistudysummarizer.dto.document.DocumentUploadResponse;
+import com.shabin.aistudysummarizer.dto.document.UploadSessionRequest;
+import com.shabin.aistudysummarizer.dto.document.UploadSessionResponse;
+import com.shabin.aistudysummarizer.service.ResumableUploadService;
+import com.shabin.aistudysummarizer.upload.ContentRange;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST API Controller for resumable uploads.
+ * Files are sent as raw byte ranges instead of one multipart request, so an interrupted
+ * upload continues from the last received byte.
+ */
+@RestController
+@RequestMapping("/api/v1/uploads")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Uploads", description = "Resumable document upload endpoints")
+public class UploadController {
+
+        private final ResumableUploadService uploadService;
+
+        /**
+         * Start a resumable upload
+         */
+        @PostMapping
+        @Operation(summary = "Start resumable upload", description = "Create an upload session for a file of the given name and size")
+        public ResponseEntity<ApiResponse<UploadSessionResponse>> createSession(
+                        @Valid @RequestBody UploadSessionRequest request) {
+
+                log.info("Upload session request: filename={}, size={} bytes", request.getFilename(),
+                                request.getSize());
+
+                UploadSessionResponse response = uploadService.createSession(request);
+                return ResponseEntity.status(HttpStatus.CREATED)
+                                .body(ApiResponse.success(response, "Upload session created"));
+        }
+
+        /**
+         * Get how many bytes of an upload have been received
+         */
+        @GetMapping("/{uploadId}")
+        @Operation(summary = "Get upload status", description = "Returns the received byte count to resume from")
+        public ResponseEntity<ApiResponse<UploadSessionResponse>> getSession(
+                        @Parameter(description = "Upload session ID", required = true) @PathVariable UUID uploadId) {
+                return ResponseEntity.ok(ApiResponse.success(uploadService.getSession(uploadId),
+                                "Upload session retrieved"));
+        }
+
+        /**
+         * Upload a byte range of the file
+         */
+        @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+        @Operation(summary = "Upload byte range", description = "Send raw bytes with a Content-Range header, e.g. 'bytes 0-1048575/52428800'")
+        public ResponseEntity<ApiResponse<UploadSessionResponse>> uploadChunk(
+                        @Parameter(description = "Upload session ID", required = true) @PathVariable UUID uploadId,
+                        @RequestHeader(value = HttpHeaders.CONTENT_RANGE, required = false) String contentRange,
+                        InputStream body) {
+
+                ContentRange range = ContentRange.parse(contentRange);
+                UploadSessionResponse response = uploadService.appendChunk(uploadId, range, body);
+                return ResponseEntity.ok(ApiResponse.success(response, "Chunk received"));
+        }
+
+        /**
+         * Finish an upload and process the file
+         */
+        @PostMapping("/{uploadId}/complete")
+        @Operation(summary = "Complete resumable upload", description = "Extract and store the document once all bytes are uploaded")
+        public CompletableFuture<ResponseEntity<ApiResponse<DocumentUploadResponse>>> complete(
+                        @Parameter(description = "Upload session ID", required = true) @PathVariable UUID uploadId) {
+
+                return uploadService.complete(uploadId)
+                                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED)
+                                                .body(ApiResponse.success(response,
+                                                                "Document uploaded and processed successfully")));
+        }
+
+        /**
+         * Abandon an upload
+         */
+        @DeleteMapping("/{uploadId}")
+        @Operation(summary = "Cancel resumable upload", description = "Discard the session and the bytes received so far")
+        public ResponseEntity<ApiResponse<Void>> cancel(
+                        @Parameter(description = "Upload session ID", required = true) @PathVariable UUID uploadId) {
+                uploadService.cancel(uploadId);
+                return ResponseEntity.ok(ApiResponse.success(null, "Upload cancelled"));
+        }
+}
@@ -0,0 +1,9 @@
+package com.shabin.aistudysummarizer.datasource;
+
+/**
+ * Target of a connection request in the routing data source
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,64 @@
+package com.shabin.aistudysummarizer.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers recent writes so the reads that follow them see their own data on the primary
+ * instead of a replica that may not have replayed them yet. A write pins the rest of the
+ * current request to the primary, and the writing user's requests for a short window after it.
+ */
+public class ReadYourWritesTracker {
+
+    private static final String WROTE_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".WROTE";
+    private static final int PURGE_THRESHOLD = 1024;
+
+    private final long windowMillis;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void recordWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        String user = currentUser();
+        if (user != null) {
+            long now = System.currentTimeMillis();
+            lastWriteByUser.put(user, now);
+            if (lastWriteByUser.size() > PURGE_THRESHOLD) {
+                lastWriteByUser.values().removeIf(writtenAt -> now - writtenAt > windowMillis);
+            }
+        }
+    }
+
+    public boolean mustReadPrimary() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+
+        String user = currentUser();
+        Long writtenAt = user != null ? lastWriteByUser.get(user) : null;
+        return writtenAt != null && System.currentTimeMillis() - writtenAt <= windowMillis;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
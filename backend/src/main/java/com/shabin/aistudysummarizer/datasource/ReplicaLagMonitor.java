@@ -0,0 +1,124 @@
+package com.shabin.aistudysummarizer.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replay lag in the background, so routing decisions never wait on the replica.
+ * Lag is measured against the primary's current WAL position, so a replica that stopped receiving
+ * WAL is not mistaken for one that is up to date. The replica is unusable until the first check
+ * passes, and whenever a check fails or the lag exceeds the limit.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final String PRIMARY_LSN_QUERY = "SELECT CAST(pg_current_wal_lsn() AS text)";
+
+    // The WAL receiver row is missing while the replica is disconnected from the primary. Its status
+    // is only shown to roles with pg_read_all_stats; when hidden, the comparison with the primary's
+    // position still catches a replica that fell behind.
+    private static final String REPLICA_QUERY = """
+            SELECT pg_is_in_recovery() AS in_recovery,
+                   EXISTS (SELECT 1 FROM pg_stat_wal_receiver
+                           WHERE status IS NULL OR status = 'streaming') AS streaming,
+                   pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) AS caught_up,
+                   CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) AS float8) AS replay_age
+            """;
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, double maxLagSeconds, long checkIntervalMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    void check() {
+        boolean nowUsable;
+        try {
+            double lagSeconds = lagSeconds();
+            nowUsable = lagSeconds <= maxLagSeconds;
+            if (!nowUsable && usable) {
+                log.warn("Replica lag {}s exceeds {}s, reading from the primary", lagSeconds, maxLagSeconds);
+            }
+        } catch (Exception e) {
+            nowUsable = false;
+            if (usable) {
+                log.warn("Replica check failed, reading from the primary: {}", e.getMessage());
+            }
+        }
+        if (nowUsable && !usable) {
+            log.info("Replica is in sync, routing read-only transactions to it");
+        }
+        usable = nowUsable;
+    }
+
+    /**
+     * Seconds of writes on the primary that the replica has not replayed yet. Zero once it has
+     * replayed up to the primary's current position, so an idle primary does not look like lag;
+     * infinite while it is not receiving WAL. A standalone server (not in recovery) counts as up to date.
+     */
+    private double lagSeconds() throws SQLException {
+        String primaryLsn;
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet result = statement.executeQuery(PRIMARY_LSN_QUERY)) {
+                result.next();
+                primaryLsn = result.getString(1);
+            }
+        }
+
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement(REPLICA_QUERY)) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            statement.setString(1, primaryLsn);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                if (!result.getBoolean("in_recovery")) {
+                    return 0;
+                }
+                // Even if caught up now, a disconnected replica misses every write from here on
+                if (!result.getBoolean("streaming")) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                if (result.getBoolean("caught_up")) {
+                    return 0;
+                }
+                // Nothing replayed since startup leaves no timestamp to measure from
+                double replayAge = result.getDouble("replay_age");
+                return result.wasNull() ? Double.POSITIVE_INFINITY : replayAge;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,26 @@
+package com.shabin.aistudysummarizer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of a cursor-paginated list. Pass nextCursor back to get the following slice.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+    private List<T> content;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // Only counted when requested, since counting costs a scan of all the user's rows
+    private Long totalElements;
+}
@@ -0,0 +1,30 @@
+package com.shabin.aistudysummarizer.dto.document;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one file in a bulk upload: the created document, or why the file was skipped
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkUploadResult {
+    private String filename;
+    private boolean success;
+    private DocumentUploadResponse document;
+    private String error;
+
+    public static BulkUploadResult success(String filename, DocumentUploadResponse document) {
+        return BulkUploadResult.builder().filename(filename).success(true).document(document).build();
+    }
+
+    public static BulkUploadResult failure(String filename, String error) {
+        return BulkUploadResult.builder().filename(filename).success(false).error(error).build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.shabin.aistudysummarizer.dto.document;
+
+import com.shabin.aistudysummarizer.entity.SourceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Document list entry; selected directly in the query, so extracted text is never loaded
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentListResponse {
+    private UUID documentId;
+    private String title;
+    private SourceType sourceType;
+    private Long fileSizeBytes;
+    private LocalDateTime createdAt;
+}
@@ -17,5 +17,6 @@ public class DocumentUploadResponse {
     private String title;
     private String sourceType;
     private String sourceUrl;
+    private boolean textTruncated;
     private LocalDateTime createdAt;
 }
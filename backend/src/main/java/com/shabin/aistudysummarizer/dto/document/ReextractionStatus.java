@@ -0,0 +1,27 @@
+package com.shabin.aistudysummarizer.dto.document;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.shabin.aistudysummarizer.entity.SourceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the latest run that extracts stored originals again
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReextractionStatus {
+    private boolean running;
+    private SourceType sourceType;
+    private int processed;
+    private int failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
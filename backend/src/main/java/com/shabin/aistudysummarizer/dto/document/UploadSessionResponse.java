@@ -0,0 +1,24 @@
+package com.shabin.aistudysummarizer.dto.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * State of a resumable upload; clients resume by sending bytes from receivedBytes onwards
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+    private UUID uploadId;
+    private String filename;
+    private long size;
+    private long receivedBytes;
+    private LocalDateTime expiresAt;
+}
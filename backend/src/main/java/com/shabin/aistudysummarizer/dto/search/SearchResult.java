@@ -0,0 +1,31 @@
+package com.shabin.aistudysummarizer.dto.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Document or summary matching a search, most relevant first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchResult {
+
+    public enum Type {
+        DOCUMENT,
+        SUMMARY
+    }
+
+    private Type type;
+    private UUID documentId;
+    private UUID summaryId;  // Only for summary matches
+    private String title;
+    private double rank;
+}
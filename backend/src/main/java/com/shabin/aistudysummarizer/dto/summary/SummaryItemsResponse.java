@@ -0,0 +1,23 @@
+package com.shabin.aistudysummarizer.dto.summary;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Items newly added to a summary, with the summary's item counts after adding them
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryItemsResponse<T> {
+    private UUID summaryId;
+    private List<T> added;
+    private int mcqCount;
+    private int flashcardCount;
+}
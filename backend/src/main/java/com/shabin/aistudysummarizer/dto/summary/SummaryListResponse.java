@@ -1,5 +1,27 @@
 package com.shabin.aistudysummarizer.dto.summary;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Summary list entry; selected in one query with counts computed by the database,
+ * so the summary JSON is never sent for listings
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class SummaryListResponse {
-    
+    private UUID id;
+    private UUID documentId;
+    private String documentTitle;
+    private String modelUsed;
+    private Integer mcqCount;
+    private Integer flashcardCount;
+    private LocalDateTime createdAt;
 }
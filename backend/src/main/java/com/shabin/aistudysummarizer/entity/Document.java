@@ -8,7 +8,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "documents", indexes = {
-        @Index(name = "idx_documents_user_id", columnList = "user_id"),
+        @Index(name = "idx_documents_user_created_id", columnList = "user_id, created_at, id"),
         @Index(name = "idx_documents_created_at", columnList = "created_at")
 })
 @Getter
@@ -39,9 +39,21 @@ public class Document {
 
     private Long fileSizeBytes;
 
-    @Lob
-    @Column(nullable = false)
-    private String extractedText;
+    // SHA-256 of the original file in the blob store, so the text can be re-extracted without
+    // another upload; null for scraped pages
+    @Column(name = "blob_hash", length = 64)
+    private String blobHash;
+
+    // Extracted text lives in its own table and is only loaded when the text itself is needed,
+    // so loading a document for its title or owner never reads the text
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_id")
+    private DocumentContent content;
+
+    // Extraction stopped at file.max-text-length, so the text covers only the start of the source
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean textTruncated = false;
 
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -50,4 +62,8 @@ public class Document {
     public void onCreate() {
         this.createdAt = LocalDateTime.now();
     }
+
+    public String getExtractedText() {
+        return content != null ? content.getExtractedText() : null;
+    }
 }
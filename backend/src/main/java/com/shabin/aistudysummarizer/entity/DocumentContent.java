@@ -0,0 +1,86 @@
+package com.shabin.aistudysummarizer.entity;
+
+import com.shabin.aistudysummarizer.entity.converter.CompressedTextConverter;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnTransformer;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Extracted text of an uploaded file, shared by every document uploaded with the same bytes.
+ * Identified by the SHA-256 of the original upload; scraped URLs have no hash and are never shared.
+ */
+@Entity
+@Table(name = "document_contents", indexes = {
+        @Index(name = "idx_document_contents_hash", columnList = "content_hash", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentContent {
+
+    /**
+     * Characters of extracted text that are indexed for search; keeps the vector well under
+     * PostgreSQL's 1 MB tsvector limit
+     */
+    public static final int SEARCH_TEXT_LENGTH = 250_000;
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "extracted_text", columnDefinition = "bytea", nullable = false)
+    private String extractedText;
+
+    // Start of the text, sent along with every write of the text so that the database trigger
+    // installed by SearchIndexMigration can rebuild the search vector from it. The trigger clears
+    // the column again, so it is never stored or read back.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ColumnTransformer(read = "CAST(NULL AS text)")
+    @Column(name = "search_text", columnDefinition = "text")
+    private String searchText;
+
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean textTruncated = false;
+
+    // Time the original extraction took, i.e. what each deduplicated upload saves
+    private Long extractionMillis;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public void setExtractedText(String extractedText) {
+        this.extractedText = extractedText;
+        this.searchText = searchTextOf(extractedText);
+    }
+
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.searchText = searchTextOf(extractedText);
+    }
+
+    /**
+     * The start of the text that is indexed for search, cut without splitting a surrogate pair
+     */
+    public static String searchTextOf(String text) {
+        if (text == null) {
+            return null;
+        }
+        int end = Math.min(text.length(), SEARCH_TEXT_LENGTH);
+        if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+}
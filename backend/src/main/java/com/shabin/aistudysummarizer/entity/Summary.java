@@ -2,13 +2,16 @@ package com.shabin.aistudysummarizer.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "summaries", indexes = {
-        @Index(name = "idx_summaries_user_id", columnList = "user_id"),
+        // Keyset pagination of a user's summaries
+        @Index(name = "idx_summaries_user_created_id", columnList = "user_id, created_at, id"),
         @Index(name = "idx_summaries_document_id", columnList = "document_id"),
         @Index(name = "idx_summaries_created_at", columnList = "created_at")
 })
@@ -31,7 +34,9 @@ public class Summary {
     @JoinColumn(name = "document_id", nullable = false)
     private Document document;
 
-    @Column(name = "summary_json", columnDefinition = "text", nullable = false, length = Integer.MAX_VALUE)
+    // jsonb, so MCQs and flashcards can be appended in place without rewriting the whole summary
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "summary_json", columnDefinition = "jsonb", nullable = false)
     private String summaryJson;
 
     @Column(nullable = false)
@@ -0,0 +1,23 @@
+package com.shabin.aistudysummarizer.entity.converter;
+
+import com.shabin.aistudysummarizer.util.TextCompressionUtil;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores large text attributes compressed in a bytea column.
+ * See {@link TextCompressionUtil} for the format; rows written before compression still read back.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return TextCompressionUtil.compress(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return TextCompressionUtil.decompress(dbData);
+    }
+}
@@ -0,0 +1,29 @@
+package com.shabin.aistudysummarizer.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised when a bounded resource (worker pool, engine pool) cannot accept more work.
+ * Clients are told when to retry through the Retry-After header.
+ */
+public class ServiceBusyException extends AppException {
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public static ServiceBusyException ocrBusy(long retryAfterSeconds) {
+        return new ServiceBusyException("OCR is at capacity. Please try again shortly.", retryAfterSeconds);
+    }
+
+    public static ServiceBusyException extractionBusy(long retryAfterSeconds) {
+        return new ServiceBusyException("Too many uploads are being processed. Please try again shortly.",
+                retryAfterSeconds);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shabin.aistudysummarizer.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised when a user starts more resumable uploads, or reserves more bytes for them, than allowed.
+ * Finishing or cancelling an upload in progress frees its share.
+ */
+public class UploadLimitException extends AppException {
+
+    private UploadLimitException(String message) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    public static UploadLimitException tooManySessions(int maxSessions) {
+        return new UploadLimitException(String.format(
+                "At most %d uploads can be in progress at once. Finish or cancel one first.", maxSessions));
+    }
+
+    public static UploadLimitException tooManyBytes(long maxBytes) {
+        return new UploadLimitException(String.format(
+                "Uploads in progress may not exceed %d bytes in total. Finish or cancel one first.", maxBytes));
+    }
+}
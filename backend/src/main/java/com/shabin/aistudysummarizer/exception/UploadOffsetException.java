@@ -0,0 +1,21 @@
+package com.shabin.aistudysummarizer.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised when a resumable upload chunk does not continue where the stored bytes end.
+ * The client should query the session and resend from the expected offset.
+ */
+public class UploadOffsetException extends AppException {
+    private final long expectedOffset;
+
+    public UploadOffsetException(long offset, long expectedOffset) {
+        super(String.format("Chunk starts at byte %d but the upload continues at byte %d", offset, expectedOffset),
+                HttpStatus.CONFLICT);
+        this.expectedOffset = expectedOffset;
+    }
+
+    public long getExpectedOffset() {
+        return expectedOffset;
+    }
+}
@@ -0,0 +1,15 @@
+package com.shabin.aistudysummarizer.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised when another request is still writing to, completing or cancelling a resumable upload.
+ * The client should retry once its earlier request has finished or timed out.
+ */
+public class UploadSessionBusyException extends AppException {
+
+    public UploadSessionBusyException(String uploadId) {
+        super(String.format("Upload %s is busy with another request. Please retry shortly.", uploadId),
+                HttpStatus.CONFLICT);
+    }
+}
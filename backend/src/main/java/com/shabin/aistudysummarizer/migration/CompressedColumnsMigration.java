@@ -0,0 +1,88 @@
+package com.shabin.aistudysummarizer.migration;
+
+import com.shabin.aistudysummarizer.util.TextCompressionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Switches the large text columns to compressed bytea storage on startup.
+ * Text columns are changed to bytea holding the same UTF-8, which {@link TextCompressionUtil}
+ * reads as legacy rows, and those rows are then recompressed in batches. Rows are recompressed
+ * on every start until none are left, so an interrupted run simply continues.
+ * A no-op once migrated and on databases other than PostgreSQL.
+ */
+@Component
+@Order(2)  // After ExtractedTextMigration has moved text out of large objects
+@RequiredArgsConstructor
+@Slf4j
+public class CompressedColumnsMigration implements ApplicationRunner {
+
+    // summaries.summary_json is jsonb instead, which PostgreSQL compresses itself; see SummaryJsonMigration
+    private static final List<String[]> COLUMNS = List.<String[]>of(
+            new String[]{"document_contents", "extracted_text"});
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSchema schema;
+
+    @Value("${storage.recompress-batch-size:200}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!schema.isPostgres()) {
+            return;
+        }
+
+        for (String[] column : COLUMNS) {
+            String table = column[0];
+            String name = column[1];
+            if ("text".equals(schema.columnType(table, name))) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + name
+                        + " TYPE bytea USING convert_to(" + name + ", 'UTF8')");
+                log.info("Converted {}.{} to bytea", table, name);
+            }
+            recompressLegacyRows(table, name);
+        }
+    }
+
+    // Private helper methods
+
+    private void recompressLegacyRows(String table, String column) {
+        String select = "SELECT id, " + column + " AS value FROM " + table
+                + " WHERE id > ? AND substring(" + column + " from 1 for 1) NOT IN ('\\x01'::bytea, '\\x02'::bytea)"
+                + " ORDER BY id LIMIT ?";
+        String update = "UPDATE " + table + " SET " + column + " = ? WHERE id = ?";
+
+        UUID after = new UUID(0, 0);
+        long rows = 0;
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        List<Map<String, Object>> batch;
+        do {
+            batch = jdbcTemplate.queryForList(select, after, batchSize);
+            for (Map<String, Object> row : batch) {
+                byte[] legacy = (byte[]) row.get("value");
+                byte[] compressed = TextCompressionUtil.compress(TextCompressionUtil.decompress(legacy));
+                after = (UUID) row.get("id");
+                jdbcTemplate.update(update, compressed, after);
+                bytesBefore += legacy.length;
+                bytesAfter += compressed.length;
+            }
+            rows += batch.size();
+        } while (batch.size() == batchSize);
+
+        if (rows > 0) {
+            log.info("Recompressed {} rows of {}.{}: {} -> {} bytes", rows, table, column, bytesBefore, bytesAfter);
+        }
+    }
+}
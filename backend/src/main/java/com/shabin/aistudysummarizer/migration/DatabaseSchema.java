@@ -0,0 +1,34 @@
+package com.shabin.aistudysummarizer.migration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Schema lookups used by the startup migrations to decide whether they still have work to do
+ */
+@Component
+@RequiredArgsConstructor
+class DatabaseSchema {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    /**
+     * @return Data type of the column in the current schema, or null if it does not exist
+     */
+    String columnType(String table, String column) {
+        List<String> types = jdbcTemplate.queryForList("SELECT data_type FROM information_schema.columns"
+                        + " WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                String.class, table, column);
+        return types.isEmpty() ? null : types.get(0);
+    }
+}
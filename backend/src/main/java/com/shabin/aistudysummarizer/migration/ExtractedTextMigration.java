@@ -0,0 +1,89 @@
+package com.shabin.aistudysummarizer.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Moves extracted text out of PostgreSQL large objects on startup.
+ * Text used to be stored with {@code @Lob}, i.e. as an OID column whose value lives in
+ * pg_largeobject: inline in documents, and in document_contents. Inline text is moved into
+ * document_contents, both columns become plain text, and the large objects are unlinked.
+ * Schema updates don't change column types, so this has to be done by hand; it is a no-op
+ * once the schema is migrated and on databases other than PostgreSQL.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class ExtractedTextMigration implements ApplicationRunner {
+
+    private static final String OID = "oid";
+    private static final String BYTEA = "bytea";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSchema schema;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (!schema.isPostgres()) {
+            return;
+        }
+
+        if (OID.equals(schema.columnType("document_contents", "extracted_text"))) {
+            convertContentsToText();
+        }
+
+        String inlineType = schema.columnType("documents", "extracted_text");
+        if (inlineType != null) {
+            moveInlineText(OID.equals(inlineType));
+        }
+    }
+
+    // Private helper methods
+
+    private void convertContentsToText() {
+        jdbcTemplate.execute("ALTER TABLE document_contents ADD COLUMN extracted_text_value text");
+        jdbcTemplate.update("UPDATE document_contents"
+                + " SET extracted_text_value = convert_from(lo_get(extracted_text), 'UTF8')");
+        unlinkLargeObjects("document_contents");
+        jdbcTemplate.execute("ALTER TABLE document_contents DROP COLUMN extracted_text");
+        jdbcTemplate.execute("ALTER TABLE document_contents RENAME COLUMN extracted_text_value TO extracted_text");
+        jdbcTemplate.execute("ALTER TABLE document_contents ALTER COLUMN extracted_text SET NOT NULL");
+        log.info("Converted document_contents.extracted_text from large objects to text");
+    }
+
+    /**
+     * Give every document with inline text its own content row, reusing the document id as the content id.
+     * When upgrading from before document_contents existed, schema updates have already created
+     * it with the compressed bytea column; the text is then written as plain UTF-8, which
+     * TextCompressionUtil reads as legacy rows and CompressedColumnsMigration recompresses next.
+     */
+    private void moveInlineText(boolean largeObjects) {
+        String text = largeObjects ? "convert_from(lo_get(d.extracted_text), 'UTF8')" : "d.extracted_text";
+        if (BYTEA.equals(schema.columnType("document_contents", "extracted_text"))) {
+            text = largeObjects ? "lo_get(d.extracted_text)" : "convert_to(d.extracted_text, 'UTF8')";
+        }
+        int moved = jdbcTemplate.update("INSERT INTO document_contents (id, extracted_text, text_truncated, created_at)"
+                + " SELECT d.id, " + text + ", d.text_truncated, d.created_at FROM documents d"
+                + " WHERE d.content_id IS NULL AND d.extracted_text IS NOT NULL");
+        jdbcTemplate.update("UPDATE documents SET content_id = id"
+                + " WHERE content_id IS NULL AND extracted_text IS NOT NULL");
+        if (largeObjects) {
+            unlinkLargeObjects("documents");
+        }
+        jdbcTemplate.execute("ALTER TABLE documents DROP COLUMN extracted_text");
+        log.info("Moved inline extracted text of {} documents to document_contents", moved);
+    }
+
+    private void unlinkLargeObjects(String table) {
+        jdbcTemplate.queryForList("SELECT lo_unlink(extracted_text) FROM " + table
+                + " WHERE extracted_text IS NOT NULL");
+    }
+}
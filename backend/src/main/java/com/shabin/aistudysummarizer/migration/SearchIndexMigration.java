@@ -0,0 +1,100 @@
+package com.shabin.aistudysummarizer.migration;
+
+import com.shabin.aistudysummarizer.repository.DocumentContentRepository;
+import com.shabin.aistudysummarizer.util.TextCompressionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Adds the full-text search vectors and their GIN indexes on startup.
+ * Document titles and summaries get generated columns that PostgreSQL keeps current on every
+ * insert and update. Extracted text is stored compressed, which PostgreSQL cannot read, so a
+ * trigger builds its vector from the plain text the entity writes alongside it, and clears a
+ * vector left stale by any other write of the text. Rows without a vector are indexed here in
+ * batches.
+ * A no-op once migrated and on databases other than PostgreSQL.
+ */
+@Component
+@Order(4)  // After SummaryJsonMigration, as the summary vector reads the jsonb column
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexMigration implements ApplicationRunner {
+
+    private static final List<String> STATEMENTS = List.of(
+            "ALTER TABLE documents ADD COLUMN IF NOT EXISTS title_search tsvector"
+                    + " GENERATED ALWAYS AS (setweight(to_tsvector('english', coalesce(title, '')), 'A')) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_documents_title_search ON documents USING GIN (title_search)",
+            "ALTER TABLE summaries ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS ("
+                    + "setweight(jsonb_to_tsvector('english', coalesce(summary_json -> 'keyTerms', '[]'), '[\"string\"]'), 'A')"
+                    + " || setweight(to_tsvector('english', coalesce(summary_json ->> 'executiveSummary', '')), 'B')) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_summaries_search_vector ON summaries USING GIN (search_vector)",
+            "ALTER TABLE document_contents ADD COLUMN IF NOT EXISTS text_search tsvector",
+            "CREATE INDEX IF NOT EXISTS idx_document_contents_text_search ON document_contents USING GIN (text_search)",
+            "ALTER TABLE document_contents ADD COLUMN IF NOT EXISTS search_text text",
+            """
+            CREATE OR REPLACE FUNCTION document_contents_text_search() RETURNS trigger AS $$
+            BEGIN
+                IF NEW.search_text IS NOT NULL THEN
+                    NEW.text_search := setweight(to_tsvector('english', NEW.search_text), 'C');
+                    NEW.search_text := NULL;
+                ELSIF TG_OP = 'UPDATE' AND NEW.extracted_text IS DISTINCT FROM OLD.extracted_text
+                        AND NEW.text_search IS NOT DISTINCT FROM OLD.text_search THEN
+                    NEW.text_search := NULL;
+                END IF;
+                RETURN NEW;
+            END
+            $$ LANGUAGE plpgsql
+            """,
+            "DROP TRIGGER IF EXISTS document_contents_text_search ON document_contents",
+            "CREATE TRIGGER document_contents_text_search BEFORE INSERT OR UPDATE ON document_contents"
+                    + " FOR EACH ROW EXECUTE FUNCTION document_contents_text_search()");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSchema schema;
+    private final DocumentContentRepository documentContentRepository;
+
+    @Value("${storage.recompress-batch-size:200}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!schema.isPostgres()) {
+            return;
+        }
+
+        STATEMENTS.forEach(jdbcTemplate::execute);
+        indexUnindexedText();
+    }
+
+    // Private helper methods
+
+    private void indexUnindexedText() {
+        UUID after = new UUID(0, 0);
+        long rows = 0;
+        List<Map<String, Object>> batch;
+        do {
+            batch = jdbcTemplate.queryForList("SELECT id, extracted_text FROM document_contents"
+                    + " WHERE id > ? AND text_search IS NULL ORDER BY id LIMIT ?", after, batchSize);
+            for (Map<String, Object> row : batch) {
+                after = (UUID) row.get("id");
+                documentContentRepository.indexText(after,
+                        TextCompressionUtil.decompress((byte[]) row.get("extracted_text")));
+            }
+            rows += batch.size();
+        } while (batch.size() == batchSize);
+
+        if (rows > 0) {
+            log.info("Indexed extracted text of {} document contents for search", rows);
+        }
+    }
+}
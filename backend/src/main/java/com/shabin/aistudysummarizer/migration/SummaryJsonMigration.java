@@ -0,0 +1,75 @@
+package com.shabin.aistudysummarizer.migration;
+
+import com.shabin.aistudysummarizer.util.TextCompressionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Converts summaries.summary_json to jsonb on startup, so items can be appended in place.
+ * A text column is converted directly; a compressed bytea column is decoded in batches into a new
+ * jsonb column that then replaces it. An interrupted run continues on the next start.
+ * A no-op once migrated and on databases other than PostgreSQL.
+ */
+@Component
+@Order(3)  // After CompressedColumnsMigration
+@RequiredArgsConstructor
+@Slf4j
+public class SummaryJsonMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSchema schema;
+
+    @Value("${storage.recompress-batch-size:200}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!schema.isPostgres()) {
+            return;
+        }
+
+        String type = schema.columnType("summaries", "summary_json");
+        if ("text".equals(type)) {
+            jdbcTemplate.execute("ALTER TABLE summaries ALTER COLUMN summary_json TYPE jsonb USING summary_json::jsonb");
+            log.info("Converted summaries.summary_json from text to jsonb");
+        } else if ("bytea".equals(type)) {
+            convertFromBytea();
+        }
+    }
+
+    // Private helper methods
+
+    private void convertFromBytea() {
+        jdbcTemplate.execute("ALTER TABLE summaries ADD COLUMN IF NOT EXISTS summary_json_value jsonb");
+
+        UUID after = new UUID(0, 0);
+        long rows = 0;
+        List<Map<String, Object>> batch;
+        do {
+            batch = jdbcTemplate.queryForList("SELECT id, summary_json FROM summaries"
+                    + " WHERE id > ? AND summary_json_value IS NULL ORDER BY id LIMIT ?", after, batchSize);
+            for (Map<String, Object> row : batch) {
+                after = (UUID) row.get("id");
+                String json = TextCompressionUtil.decompress((byte[]) row.get("summary_json"));
+                jdbcTemplate.update("UPDATE summaries SET summary_json_value = CAST(? AS jsonb) WHERE id = ?",
+                        json, after);
+            }
+            rows += batch.size();
+        } while (batch.size() == batchSize);
+
+        jdbcTemplate.execute("ALTER TABLE summaries DROP COLUMN summary_json");
+        jdbcTemplate.execute("ALTER TABLE summaries RENAME COLUMN summary_json_value TO summary_json");
+        jdbcTemplate.execute("ALTER TABLE summaries ALTER COLUMN summary_json SET NOT NULL");
+        log.info("Converted {} rows of summaries.summary_json from bytea to jsonb", rows);
+    }
+}
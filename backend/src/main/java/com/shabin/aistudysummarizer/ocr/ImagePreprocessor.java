@@ -0,0 +1,323 @@
+package com.shabin.aistudysummarizer.ocr;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+
+/**
+ * Prepares images for Tesseract: downscale to a resolution Tesseract reads well, grayscale, adaptive binarization, deskew and
+ * crop to the text region. Each step can be switched off through configuration.
+ */
+@Component
+@Slf4j
+public class ImagePreprocessor {
+
+    private static final int WHITE = 255;
+    private static final int BLACK = 0;
+    private static final double MAX_SKEW_DEGREES = 5.0;
+    private static final double SKEW_STEP_DEGREES = 0.25;
+    private static final double MIN_SKEW_DEGREES = 0.3;  // Below this rotating costs more than it helps
+    private static final int SKEW_SAMPLE_WIDTH = 800;  // Skew is estimated on a reduced copy
+    private static final int CROP_MARGIN = 16;
+
+    @Value("${ocr.preprocess.enabled:true}")
+    private boolean enabled;
+
+    // ~300 DPI across a letter-size page. For tall screenshots this is the only cap, so they keep
+    // their width, and with it a readable text size, however long they are
+    @Value("${ocr.preprocess.max-short-side:2550}")
+    private int maxShortSide;
+
+    // ~200 DPI over a letter-size page; brings a 4000x3000 phone photo down to about 2300x1730
+    @Value("${ocr.preprocess.max-pixels:4000000}")
+    private long maxPixels;
+
+    // Images at least this many times longer than wide (or wider than long) count as tall screenshots
+    @Value("${ocr.preprocess.tall-aspect-ratio:2.0}")
+    private double tallAspectRatio;
+
+    @Value("${ocr.preprocess.binarize:true}")
+    private boolean binarize;
+
+    @Value("${ocr.preprocess.binarize-threshold-percent:15}")  // Pixel is ink if this much darker than its neighbourhood
+    private int thresholdPercent;
+
+    @Value("${ocr.preprocess.deskew:true}")
+    private boolean deskew;
+
+    @Value("${ocr.preprocess.crop:true}")
+    private boolean crop;
+
+    /**
+     * Run the configured steps over an image
+     * @param image Decoded input image of any type
+     * @return An 8-bit grayscale image ready for OCR
+     */
+    public BufferedImage process(BufferedImage image) {
+        if (!enabled) {
+            return image;
+        }
+
+        long start = System.nanoTime();
+        int originalWidth = image.getWidth();
+        int originalHeight = image.getHeight();
+
+        BufferedImage result = toGrayscale(image, scaleFor(image));
+        if (binarize) {
+            result = binarize(result);
+        }
+        if (deskew) {
+            result = deskew(result);
+        }
+        if (crop) {
+            result = cropToContent(result);
+        }
+
+        log.debug("Preprocessed {}x{} image to {}x{} in {}ms", originalWidth, originalHeight,
+                result.getWidth(), result.getHeight(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    // Steps
+
+    /**
+     * Scale that brings the image down to the target resolution: photos and pages are capped in
+     * total pixels, tall screenshots only on their short side, since they are cut into bands later
+     * and shrinking their length would shrink their text. Images within the limits are never scaled.
+     */
+    double scaleFor(BufferedImage image) {
+        int shortSide = Math.min(image.getWidth(), image.getHeight());
+        int longSide = Math.max(image.getWidth(), image.getHeight());
+        double scale = maxShortSide > 0 && shortSide > maxShortSide ? (double) maxShortSide / shortSide : 1.0;
+
+        double pixels = (double) shortSide * longSide;
+        if (maxPixels > 0 && pixels > maxPixels && longSide < shortSide * tallAspectRatio) {
+            scale = Math.min(scale, Math.sqrt(maxPixels / pixels));
+        }
+        return scale;
+    }
+
+    /**
+     * Downscale (if needed) and convert to 8-bit grayscale in a single draw
+     */
+    BufferedImage toGrayscale(BufferedImage image, double scale) {
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        if (scale == 1.0 && image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            return image;
+        }
+
+        BufferedImage gray = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = gray.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);  // Transparent PNGs otherwise turn black
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return gray;
+    }
+
+    /**
+     * Bradley adaptive thresholding: a pixel is ink when it is darker than the mean of its
+     * neighbourhood by more than the threshold. Handles uneven lighting in phone photos.
+     * Neighbourhood sums come from column sums over a window of rows that slides down the image,
+     * so memory stays proportional to the width even for very tall screenshots.
+     */
+    BufferedImage binarize(BufferedImage gray) {
+        int width = gray.getWidth();
+        int height = gray.getHeight();
+        byte[] pixels = pixels(gray);
+        int window = Math.max(8, width / 16);
+        int half = window / 2;
+
+        long[] columnSums = new long[width];  // Sum of each column over rows windowTop..windowBottom
+        long[] prefix = new long[width + 1];
+        int windowTop = 0;
+        int windowBottom = -1;
+
+        BufferedImage binary = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] out = pixels(binary);
+        for (int y = 0; y < height; y++) {
+            int y1 = Math.max(0, y - half);
+            int y2 = Math.min(height - 1, y + half);
+            while (windowBottom < y2) {
+                windowBottom++;
+                for (int x = 0; x < width; x++) {
+                    columnSums[x] += pixels[windowBottom * width + x] & 0xFF;
+                }
+            }
+            while (windowTop < y1) {
+                for (int x = 0; x < width; x++) {
+                    columnSums[x] -= pixels[windowTop * width + x] & 0xFF;
+                }
+                windowTop++;
+            }
+            for (int x = 0; x < width; x++) {
+                prefix[x + 1] = prefix[x] + columnSums[x];
+            }
+
+            for (int x = 0; x < width; x++) {
+                int x1 = Math.max(0, x - half);
+                int x2 = Math.min(width - 1, x + half);
+                long count = (long) (x2 - x1 + 1) * (y2 - y1 + 1);
+                long sum = prefix[x2 + 1] - prefix[x1];
+                int value = pixels[y * width + x] & 0xFF;
+                boolean ink = (long) value * count * 100 <= sum * (100 - thresholdPercent);
+                out[y * width + x] = (byte) (ink ? BLACK : WHITE);
+            }
+        }
+        return binary;
+    }
+
+    /**
+     * Rotate the image so that text lines are level, if the estimated skew is large enough to matter
+     */
+    BufferedImage deskew(BufferedImage binary) {
+        double angle = estimateSkew(binary);
+        if (Math.abs(angle) < MIN_SKEW_DEGREES) {
+            return binary;
+        }
+
+        log.debug("Deskewing image by {} degrees", angle);
+        BufferedImage rotated = new BufferedImage(binary.getWidth(), binary.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = rotated.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, rotated.getWidth(), rotated.getHeight());
+            graphics.rotate(Math.toRadians(angle), binary.getWidth() / 2.0, binary.getHeight() / 2.0);
+            graphics.drawImage(binary, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rotated;
+    }
+
+    /**
+     * Estimate skew with a projection profile: text lines produce the sharpest row histogram
+     * when the page is level. The estimate runs on a reduced copy and only small angles are tried.
+     * @return Rotation in degrees that levels the text lines
+     */
+    double estimateSkew(BufferedImage binary) {
+        double scale = Math.min(1.0, (double) SKEW_SAMPLE_WIDTH / binary.getWidth());
+        BufferedImage sample = scale < 1.0 ? toGrayscale(binary, scale) : binary;
+        byte[] pixels = pixels(sample);
+        int width = sample.getWidth();
+        int height = sample.getHeight();
+
+        double bestAngle = 0;
+        double bestScore = -1;
+        for (double angle = -MAX_SKEW_DEGREES; angle <= MAX_SKEW_DEGREES; angle += SKEW_STEP_DEGREES) {
+            double tan = Math.tan(Math.toRadians(angle));
+            int[] rows = new int[height];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    if ((pixels[y * width + x] & 0xFF) < 128) {
+                        int row = (int) Math.round(y + x * tan);
+                        if (row >= 0 && row < height) {
+                            rows[row]++;
+                        }
+                    }
+                }
+            }
+            double score = 0;
+            for (int y = 1; y < height; y++) {
+                double diff = rows[y] - rows[y - 1];
+                score += diff * diff;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestAngle = angle;
+            }
+        }
+
+        return bestAngle;
+    }
+
+    /**
+     * Crop to the bounding box of rows and columns that contain a meaningful amount of ink,
+     * so isolated specks at the borders do not keep the whole frame.
+     */
+    BufferedImage cropToContent(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        byte[] pixels = pixels(image);
+        int[] rowInk = new int[height];
+        int[] colInk = new int[width];
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if ((pixels[y * width + x] & 0xFF) < 128) {
+                    rowInk[y]++;
+                    colInk[x]++;
+                }
+            }
+        }
+
+        int top = firstAbove(rowInk, Math.max(2, width / 200), true);
+        int bottom = firstAbove(rowInk, Math.max(2, width / 200), false);
+        int left = firstAbove(colInk, Math.max(2, height / 200), true);
+        int right = firstAbove(colInk, Math.max(2, height / 200), false);
+
+        if (top < 0 || left < 0 || bottom <= top || right <= left) {
+            return image;
+        }
+
+        top = Math.max(0, top - CROP_MARGIN);
+        left = Math.max(0, left - CROP_MARGIN);
+        bottom = Math.min(height - 1, bottom + CROP_MARGIN);
+        right = Math.min(width - 1, right + CROP_MARGIN);
+
+        if (top == 0 && left == 0 && bottom == height - 1 && right == width - 1) {
+            return image;
+        }
+        return image.getSubimage(left, top, right - left + 1, bottom - top + 1);
+    }
+
+    // Private helper methods
+
+    private int firstAbove(int[] counts, int threshold, boolean fromStart) {
+        if (fromStart) {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] >= threshold) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] >= threshold) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private byte[] pixels(BufferedImage gray) {
+        if (gray.getType() != BufferedImage.TYPE_BYTE_GRAY
+                || gray.getRaster().getDataBuffer().getSize() != gray.getWidth() * gray.getHeight()) {
+            gray = toGrayscale(copyOf(gray), 1.0);
+        }
+        return ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+    }
+
+    private BufferedImage copyOf(BufferedImage image) {
+        BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = copy.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,156 @@
+package com.shabin.aistudysummarizer.ocr;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits tall images into horizontal bands that can be recognized concurrently, and stitches
+ * the band texts back together in reading order.
+ * Cuts are placed on the emptiest row near each target position so text lines are rarely split;
+ * where no clean gap exists the neighbouring bands overlap and duplicated lines are dropped on stitching.
+ */
+@Component
+@Slf4j
+public class ImageTiler {
+
+    private static final int DUPLICATE_LINES_CHECKED = 4;
+
+    @Value("${ocr.tiling.min-height:3000}")  // Images shorter than this are recognized in one pass
+    private int minHeight;
+
+    @Value("${ocr.tiling.band-height:1200}")
+    private int bandHeight;
+
+    @Value("${ocr.tiling.overlap:48}")  // Roughly one text line at 300 DPI
+    private int overlap;
+
+    /**
+     * A horizontal slice of the source image
+     */
+    public record Band(int top, int bottom, BufferedImage image) {
+    }
+
+    /**
+     * Split an image into bands, or return a single band when the image is small enough
+     * @param image Grayscale or binarized image
+     * @return Bands from top to bottom
+     */
+    public List<Band> split(BufferedImage image) {
+        int height = image.getHeight();
+        if (height < minHeight || bandHeight <= 0) {
+            return List.of(new Band(0, height, image));
+        }
+
+        int[] rowInk = rowInk(image);
+        int searchRadius = bandHeight / 4;
+
+        List<Band> bands = new ArrayList<>();
+        int top = 0;
+        while (top < height) {
+            int target = top + bandHeight;
+            if (target + searchRadius >= height) {
+                bands.add(band(image, top, height));
+                break;
+            }
+
+            int cut = emptiestRow(rowInk, target - searchRadius, target + searchRadius);
+            boolean cleanGap = rowInk[cut] == 0;
+            int bottom = cleanGap ? cut : Math.min(height, cut + overlap);
+            bands.add(band(image, top, bottom));
+            top = cleanGap ? cut : Math.max(top + 1, cut - overlap);
+        }
+
+        log.debug("Split {}x{} image into {} bands", image.getWidth(), height, bands.size());
+        return bands;
+    }
+
+    /**
+     * Join band texts in order. Where a band overlaps the previous one, lines repeated at its start
+     * are dropped because they were already read at the end of the previous band; bands cut on a
+     * clean gap are joined as they are, so lines that really repeat across the cut are kept.
+     * @param bands Bands from {@link #split}
+     * @param bandTexts Text of the leading bands, in the same order
+     */
+    public String stitch(List<Band> bands, List<String> bandTexts) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < bandTexts.size(); i++) {
+            List<String> bandLines = new ArrayList<>(List.of(bandTexts.get(i).split("\\R")));
+            boolean overlapsPrevious = i > 0 && bands.get(i).top() < bands.get(i - 1).bottom();
+            int skip = overlapsPrevious ? overlappingLines(lines, bandLines) : 0;
+            lines.addAll(bandLines.subList(skip, bandLines.size()));
+        }
+        return String.join("\n", lines);
+    }
+
+    // Private helper methods
+
+    private int overlappingLines(List<String> previous, List<String> next) {
+        List<String> tail = nonBlankTail(previous);
+        int nextStart = 0;
+        while (nextStart < next.size() && next.get(nextStart).isBlank()) {
+            nextStart++;
+        }
+
+        for (int size = Math.min(tail.size(), next.size() - nextStart); size > 0; size--) {
+            boolean match = true;
+            for (int i = 0; i < size; i++) {
+                if (!normalize(tail.get(tail.size() - size + i)).equals(normalize(next.get(nextStart + i)))) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) {
+                return nextStart + size;
+            }
+        }
+        return 0;
+    }
+
+    private List<String> nonBlankTail(List<String> lines) {
+        List<String> tail = new ArrayList<>();
+        for (int i = lines.size() - 1; i >= 0 && tail.size() < DUPLICATE_LINES_CHECKED; i--) {
+            if (!lines.get(i).isBlank()) {
+                tail.add(0, lines.get(i));
+            }
+        }
+        return tail;
+    }
+
+    private String normalize(String line) {
+        return line.replaceAll("\\s+", " ").trim().toLowerCase();
+    }
+
+    private Band band(BufferedImage image, int top, int bottom) {
+        return new Band(top, bottom, image.getSubimage(0, top, image.getWidth(), bottom - top));
+    }
+
+    private int emptiestRow(int[] rowInk, int from, int to) {
+        int best = from;
+        for (int y = from; y <= to; y++) {
+            if (rowInk[y] < rowInk[best]) {
+                best = y;
+            }
+        }
+        return best;
+    }
+
+    private int[] rowInk(BufferedImage image) {
+        int width = image.getWidth();
+        int[] ink = new int[image.getHeight()];
+        int[] row = new int[width];
+        for (int y = 0; y < ink.length; y++) {
+            image.getRaster().getSamples(0, y, width, 1, 0, row);
+            for (int value : row) {
+                if (value < 128) {
+                    ink[y]++;
+                }
+            }
+        }
+        return ink;
+    }
+}
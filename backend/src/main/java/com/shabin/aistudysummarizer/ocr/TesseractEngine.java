@@ -0,0 +1,143 @@
+package com.shabin.aistudysummarizer.ocr;
+
+import com.sun.jna.Pointer;
+import net.sourceforge.tess4j.ITessAPI.TessBaseAPI;
+import net.sourceforge.tess4j.ITessAPI.TessPageIterator;
+import net.sourceforge.tess4j.ITessAPI.TessPageIteratorLevel;
+import net.sourceforge.tess4j.ITessAPI.TessResultIterator;
+import net.sourceforge.tess4j.TessAPI;
+import net.sourceforge.tess4j.util.ImageIOHelper;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single initialized Tesseract instance. The native API is initialized once, with the
+ * traineddata loaded, and reused for every image until the engine is closed.
+ * Not thread-safe: an engine must only be used by the thread that borrowed it from the pool.
+ */
+public class TesseractEngine implements AutoCloseable {
+
+    private static final int TRUE = 1;
+
+    private final TessAPI api;
+    private final TessBaseAPI handle;
+
+    public TesseractEngine(String datapath, String language, int engineMode, int pageSegMode) {
+        this.api = TessAPI.INSTANCE;
+        this.handle = api.TessBaseAPICreate();
+
+        if (api.TessBaseAPIInit2(handle, datapath, language, engineMode) != 0) {
+            api.TessBaseAPIDelete(handle);
+            throw new IllegalStateException("Could not initialize Tesseract for language '" + language + "'");
+        }
+        if (pageSegMode >= 0) {
+            api.TessBaseAPISetPageSegMode(handle, pageSegMode);
+        }
+    }
+
+    /**
+     * Recognize all text in an image
+     * @param image The image to recognize
+     * @return Raw UTF-8 text, empty if nothing was found
+     */
+    public String recognize(BufferedImage image) {
+        try {
+            setImage(image);
+            return readText();
+        } finally {
+            api.TessBaseAPIClear(handle);
+        }
+    }
+
+    /**
+     * Recognize an image and return its paragraphs in reading order, each with the mean
+     * confidence of its words, so that weak regions can be re-read with a slower engine.
+     * Paragraphs rather than layout blocks, as a block can span the whole page.
+     * @param image The image to recognize
+     * @return Non-empty paragraphs, in the order Tesseract reads them
+     */
+    public List<TextBlock> recognizeBlocks(BufferedImage image) {
+        List<TextBlock> blocks = new ArrayList<>();
+        try {
+            setImage(image);
+            if (api.TessBaseAPIRecognize(handle, null) != 0) {
+                throw new IllegalStateException("Tesseract recognition failed");
+            }
+
+            TessResultIterator iterator = api.TessBaseAPIGetIterator(handle);
+            if (iterator == null) {
+                return blocks;
+            }
+            try {
+                int level = TessPageIteratorLevel.RIL_PARA;
+                TessPageIterator pageIterator = api.TessResultIteratorGetPageIterator(iterator);
+                do {
+                    Pointer text = api.TessResultIteratorGetUTF8Text(iterator, level);
+                    if (text == null) {
+                        continue;
+                    }
+                    try {
+                        String blockText = text.getString(0, StandardCharsets.UTF_8.name());
+                        if (!blockText.isBlank()) {
+                            blocks.add(new TextBlock(blockText,
+                                    api.TessResultIteratorConfidence(iterator, level),
+                                    boundingBox(pageIterator, level)));
+                        }
+                    } finally {
+                        api.TessDeleteText(text);
+                    }
+                } while (api.TessPageIteratorNext(pageIterator, level) == TRUE);
+            } finally {
+                api.TessResultIteratorDelete(iterator);
+            }
+            return blocks;
+        } finally {
+            api.TessBaseAPIClear(handle);
+        }
+    }
+
+    @Override
+    public void close() {
+        api.TessBaseAPIEnd(handle);
+        api.TessBaseAPIDelete(handle);
+    }
+
+    // Private helper methods
+
+    private void setImage(BufferedImage image) {
+        ByteBuffer buffer = ImageIOHelper.getImageByteBuffer(image);
+        int bitsPerPixel = image.getData(new Rectangle(1, 1)).getDataBuffer() instanceof DataBufferByte
+                ? image.getColorModel().getPixelSize()
+                : 8;
+        int bytesPerLine = (int) Math.ceil(image.getWidth() * bitsPerPixel / 8.0);
+        api.TessBaseAPISetImage(handle, buffer, image.getWidth(), image.getHeight(), bitsPerPixel / 8, bytesPerLine);
+    }
+
+    private Rectangle boundingBox(TessPageIterator pageIterator, int level) {
+        IntBuffer left = IntBuffer.allocate(1);
+        IntBuffer top = IntBuffer.allocate(1);
+        IntBuffer right = IntBuffer.allocate(1);
+        IntBuffer bottom = IntBuffer.allocate(1);
+        api.TessPageIteratorBoundingBox(pageIterator, level, left, top, right, bottom);
+        return new Rectangle(left.get(0), top.get(0), right.get(0) - left.get(0), bottom.get(0) - top.get(0));
+    }
+
+    private String readText() {
+        Pointer text = api.TessBaseAPIGetUTF8Text(handle);
+        if (text == null) {
+            return "";
+        }
+        try {
+            return text.getString(0, StandardCharsets.UTF_8.name());
+        } finally {
+            api.TessDeleteText(text);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.shabin.aistudysummarizer.ocr;
+
+import com.shabin.aistudysummarizer.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size pool of warmed Tesseract engines with borrow/return semantics.
+ * Engines are created up front when the native library is available, otherwise lazily on first use.
+ * Callers wait at most the configured borrow timeout before the request is rejected as busy.
+ * Pools are declared in {@link com.shabin.aistudysummarizer.config.OcrConfig}, one per engine profile.
+ */
+@Slf4j
+public class TesseractEnginePool {
+
+    private final String name;
+    private final Supplier<TesseractEngine> engineFactory;
+    private final int size;
+    private final long borrowTimeoutMs;
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final BlockingQueue<TesseractEngine> idle;
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public TesseractEnginePool(String name, Supplier<TesseractEngine> engineFactory, int size,
+                               long borrowTimeoutMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.engineFactory = engineFactory;
+        this.size = size;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idle = new ArrayBlockingQueue<>(size);
+
+        Tags tags = Tags.of("pool", name);
+        Gauge.builder("ocr.pool.size", () -> size).tags(tags).register(meterRegistry);
+        Gauge.builder("ocr.pool.created", created::get).tags(tags).register(meterRegistry);
+        Gauge.builder("ocr.pool.active", inUse::get).tags(tags).register(meterRegistry);
+        Gauge.builder("ocr.pool.utilization", () -> (double) inUse.get() / size).tags(tags).register(meterRegistry);
+        this.waitTimer = Timer.builder("ocr.pool.wait").description("Time spent waiting for an OCR engine")
+                .tags(tags).register(meterRegistry);
+        this.timeouts = Counter.builder("ocr.pool.timeouts").tags(tags).register(meterRegistry);
+    }
+
+    /**
+     * Create every engine up front so the first requests do not pay native initialization.
+     * Failure is logged rather than thrown, so the application still starts without Tesseract installed.
+     */
+    public void prewarm() {
+        try {
+            while (created.get() < size) {
+                idle.add(createEngine());
+            }
+            log.info("Warmed {} Tesseract engines for pool '{}'", size, name);
+        } catch (RuntimeException | LinkageError e) {
+            log.warn("Could not pre-warm Tesseract pool '{}', engines will be created on demand: {}",
+                    name, e.getMessage());
+        }
+    }
+
+    /**
+     * Borrow an engine, run the work on it, and return it to the pool.
+     * An engine that throws is discarded rather than returned, since its native state is unknown.
+     */
+    public <T> T execute(Function<TesseractEngine, T> work) {
+        TesseractEngine engine = borrow();
+        try {
+            T result = work.apply(engine);
+            release(engine);
+            return result;
+        } catch (RuntimeException e) {
+            discard(engine);
+            throw e;
+        }
+    }
+
+    /**
+     * Borrow an engine, waiting up to the configured timeout
+     * @throws ServiceBusyException if no engine becomes free in time
+     */
+    public TesseractEngine borrow() {
+        long start = System.nanoTime();
+        try {
+            TesseractEngine engine = idle.poll();
+            if (engine == null) {
+                engine = createIfBelowCapacity();
+            }
+            if (engine == null) {
+                engine = idle.poll(borrowTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+            if (engine == null) {
+                timeouts.increment();
+                log.warn("Timed out after {}ms waiting for one of {} '{}' OCR engines", borrowTimeoutMs, size, name);
+                throw ServiceBusyException.ocrBusy(Math.max(1, borrowTimeoutMs / 1000));
+            }
+            inUse.incrementAndGet();
+            return engine;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an OCR engine");
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Return a borrowed engine to the pool
+     */
+    public void release(TesseractEngine engine) {
+        inUse.decrementAndGet();
+        if (!idle.offer(engine)) {
+            closeQuietly(engine);
+            created.decrementAndGet();
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void shutdown() {
+        List<TesseractEngine> engines = new ArrayList<>();
+        idle.drainTo(engines);
+        engines.forEach(this::closeQuietly);
+        log.info("Closed {} Tesseract engines in pool '{}'", engines.size(), name);
+    }
+
+    // Private helper methods
+
+    private void discard(TesseractEngine engine) {
+        inUse.decrementAndGet();
+        created.decrementAndGet();
+        closeQuietly(engine);
+    }
+
+    private TesseractEngine createIfBelowCapacity() {
+        while (true) {
+            int current = created.get();
+            if (current >= size) {
+                return null;
+            }
+            if (created.compareAndSet(current, current + 1)) {
+                try {
+                    return newEngine();
+                } catch (RuntimeException | LinkageError e) {
+                    created.decrementAndGet();
+                    log.error("Failed to initialize Tesseract engine", e);
+                    throw new RuntimeException("OCR engine is not available: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private TesseractEngine createEngine() {
+        TesseractEngine engine = newEngine();
+        created.incrementAndGet();
+        return engine;
+    }
+
+    private TesseractEngine newEngine() {
+        return engineFactory.get();
+    }
+
+    private void closeQuietly(TesseractEngine engine) {
+        try {
+            engine.close();
+        } catch (RuntimeException e) {
+            log.warn("Error closing Tesseract engine: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.shabin.aistudysummarizer.ocr;
+
+import java.awt.Rectangle;
+
+/**
+ * A paragraph recognized by Tesseract, with the mean confidence (0-100) of its words
+ */
+public record TextBlock(String text, float confidence, Rectangle bounds) {
+}
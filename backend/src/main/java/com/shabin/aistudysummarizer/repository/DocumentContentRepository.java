@@ -0,0 +1,30 @@
+package com.shabin.aistudysummarizer.repository;
+
+import com.shabin.aistudysummarizer.entity.DocumentContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, UUID> {
+
+    Optional<DocumentContent> findByContentHash(String contentHash);
+
+    /**
+     * Index the start of the extracted text for full-text search, for rows saved without a vector.
+     * Saving the entity indexes its text already, see {@link DocumentContent#searchTextOf}.
+     */
+    default void indexText(UUID id, String text) {
+        updateTextSearch(id, DocumentContent.searchTextOf(text));
+    }
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE document_contents SET text_search = setweight(to_tsvector('english', :text), 'C')"
+            + " WHERE id = :id", nativeQuery = true)
+    void updateTextSearch(@Param("id") UUID id, @Param("text") String text);
+}
@@ -1,11 +1,119 @@
 package com.shabin.aistudysummarizer.repository;
 
+import com.shabin.aistudysummarizer.dto.document.DocumentListResponse;
 import com.shabin.aistudysummarizer.entity.Document;
+import com.shabin.aistudysummarizer.entity.SourceType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface DocumentRepository extends JpaRepository<Document, UUID> {
     List<Document> findByUserId(UUID userId);
+
+    /**
+     * Document owned by the given user, with its owner and extracted text, in one query
+     */
+    @EntityGraph(attributePaths = {"user", "content"})
+    Optional<Document> findWithUserAndContentByIdAndUserEmail(UUID id, String email);
+
+    @Query(value = """
+            select new com.shabin.aistudysummarizer.dto.document.DocumentListResponse(
+                d.id, d.title, d.sourceType, d.fileSizeBytes, d.createdAt)
+            from Document d
+            where d.user.email = :email
+            """,
+            countQuery = "select count(d) from Document d where d.user.email = :email")
+    Page<DocumentListResponse> findListByUserEmail(@Param("email") String email, Pageable pageable);
+
+    /**
+     * Full-text match of a user's document or summary
+     */
+    interface SearchHit {
+        String getType();
+
+        UUID getDocumentId();
+
+        UUID getSummaryId();
+
+        String getTitle();
+
+        double getRank();
+    }
+
+    /**
+     * Rank the user's documents (title and extracted text) and summaries (key terms and executive
+     * summary) against a web-style search query, using the GIN-indexed tsvector columns
+     * maintained by SearchIndexMigration. No text is read; only ids, titles and ranks are returned.
+     */
+    @Query(value = """
+            SELECT hits.type AS type, hits.document_id AS documentId, hits.summary_id AS summaryId,
+                   hits.title AS title, hits.rank AS rank
+            FROM (
+                SELECT 'DOCUMENT' AS type, d.id AS document_id, CAST(NULL AS uuid) AS summary_id, d.title,
+                       d.created_at,
+                       ts_rank(d.title_search || COALESCE(c.text_search, CAST('' AS tsvector)),
+                               websearch_to_tsquery('english', :query)) AS rank
+                FROM documents d
+                LEFT JOIN document_contents c ON c.id = d.content_id
+                WHERE d.user_id = (SELECT u.id FROM users u WHERE u.email = :email)
+                  AND (d.title_search @@ websearch_to_tsquery('english', :query)
+                       OR c.text_search @@ websearch_to_tsquery('english', :query))
+                UNION ALL
+                SELECT 'SUMMARY', s.document_id, s.id, d.title, s.created_at,
+                       ts_rank(s.search_vector, websearch_to_tsquery('english', :query))
+                FROM summaries s
+                JOIN documents d ON d.id = s.document_id
+                WHERE s.user_id = (SELECT u.id FROM users u WHERE u.email = :email)
+                  AND s.search_vector @@ websearch_to_tsquery('english', :query)
+            ) hits
+            ORDER BY hits.rank DESC, hits.created_at DESC
+            """, nativeQuery = true)
+    Slice<SearchHit> search(@Param("email") String email, @Param("query") String query, Pageable pageable);
+
+    /**
+     * Stored original of an extracted content, with what is needed to extract it again
+     */
+    interface ReextractionCandidate {
+        UUID getContentId();
+
+        String getBlobHash();
+
+        String getOriginalFilename();
+
+        SourceType getSourceType();
+    }
+
+    /**
+     * Next batch of contents with a stored original, in content id order. A content shared by
+     * several documents is returned once per document.
+     * @param sourceType Only documents of this type, or all when null
+     */
+    @Query("""
+            select c.id as contentId, d.blobHash as blobHash, d.originalFilename as originalFilename,
+                   d.sourceType as sourceType
+            from Document d join d.content c
+            where d.blobHash is not null and c.id > :after
+              and (:sourceType is null or d.sourceType = :sourceType)
+            order by c.id
+            """)
+    List<ReextractionCandidate> findReextractionCandidates(@Param("after") UUID after,
+                                                           @Param("sourceType") SourceType sourceType,
+                                                           Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update Document d set d.textTruncated = :textTruncated where d.content.id = :contentId")
+    int updateTextTruncatedByContentId(@Param("contentId") UUID contentId,
+                                       @Param("textTruncated") boolean textTruncated);
 }
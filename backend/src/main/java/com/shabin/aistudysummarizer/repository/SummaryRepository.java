@@ -1,11 +1,20 @@
 package com.shabin.aistudysummarizer.repository;
 
+import com.shabin.aistudysummarizer.dto.summary.SummaryListResponse;
+import com.shabin.aistudysummarizer.entity.Document;
 import com.shabin.aistudysummarizer.entity.Summary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface SummaryRepository extends JpaRepository<Summary, UUID> {
@@ -13,5 +22,99 @@ public interface SummaryRepository extends JpaRepository<Summary, UUID> {
 
     Page<Summary> findByUserEmail(String email, Pageable pageable);
 
+    /**
+     * List entries with MCQ and flashcard counts computed by the database
+     */
+    String LIST_SELECT = """
+            select new com.shabin.aistudysummarizer.dto.summary.SummaryListResponse(
+                s.id, d.id, d.title, s.modelUsed,
+                coalesce(cast(function('jsonb_array_length', function('jsonb_extract_path', s.summaryJson, 'mcqs')) as Integer), 0),
+                coalesce(cast(function('jsonb_array_length', function('jsonb_extract_path', s.summaryJson, 'flashcards')) as Integer), 0),
+                s.createdAt)
+            from Summary s join s.document d
+            where s.user.email = :email
+            """;
+
+    @Query(value = LIST_SELECT,
+            countQuery = "select count(s) from Summary s where s.user.email = :email")
+    Page<SummaryListResponse> findListByUserEmail(@Param("email") String email, Pageable pageable);
+
+    /**
+     * Newest list entries of a user. Served from the (user_id, created_at, id) index without sorting.
+     */
+    @Query(LIST_SELECT + " order by s.createdAt desc, s.id desc")
+    List<SummaryListResponse> findListByUserEmail(@Param("email") String email, Limit limit);
+
+    /**
+     * List entries older than the given position. The row comparison is an index range condition,
+     * so every slice costs the same however deep it is.
+     */
+    @Query(LIST_SELECT + " and (s.createdAt, s.id) < (:createdAt, :id) order by s.createdAt desc, s.id desc")
+    List<SummaryListResponse> findListByUserEmailBefore(@Param("email") String email,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") UUID id, Limit limit);
+
+    long countByUserEmail(String email);
+
     List<Summary> findByUserEmail(String email);
+
+    /**
+     * Number of MCQs and flashcards in a summary
+     */
+    interface ItemCounts {
+        int getMcqCount();
+
+        int getFlashcardCount();
+    }
+
+    /**
+     * Summary owned by the given user, with its document, in one query
+     */
+    @EntityGraph(attributePaths = "document")
+    Optional<Summary> findWithDocumentByIdAndUserEmail(UUID id, String email);
+
+    /**
+     * Summary owned by the given user, with its document and the document's extracted text, in one query
+     */
+    @EntityGraph(attributePaths = {"document", "document.content"})
+    Optional<Summary> findWithDocumentContentByIdAndUserEmail(UUID id, String email);
+
+    /**
+     * Document of a summary owned by the given user, with its extracted text but without the summary JSON
+     */
+    @Query("""
+            select d from Summary s join s.document d left join fetch d.content
+            where s.id = :id and s.user.email = :email
+            """)
+    Optional<Document> findDocumentByIdAndUserEmail(@Param("id") UUID id, @Param("email") String email);
+
+    /**
+     * Delete a summary owned by the given user without loading it first
+     * @return Number of summaries deleted, 0 if the user owns no such summary
+     */
+    @Modifying
+    @Query("delete from Summary s where s.id = :id and s.user.id = (select u.id from User u where u.email = :email)")
+    int deleteByIdAndUserEmail(@Param("id") UUID id, @Param("email") String email);
+
+    /**
+     * Append items to one of the summary's JSON arrays in a single statement. Concurrent appends
+     * are serialized by the row lock, so none is lost, and only the new items are sent.
+     * @param key Top-level array to append to, e.g. "mcqs"
+     * @param items JSON array of the items to append
+     * @return Counts after the append, or empty if the user owns no such summary
+     */
+    @Query(value = """
+            WITH updated AS (
+                UPDATE summaries
+                SET summary_json = jsonb_set(summary_json, ARRAY[CAST(:key AS text)],
+                        COALESCE(summary_json -> CAST(:key AS text), CAST('[]' AS jsonb)) || CAST(:items AS jsonb))
+                WHERE id = :id AND user_id = (SELECT u.id FROM users u WHERE u.email = :email)
+                RETURNING summary_json
+            )
+            SELECT COALESCE(jsonb_array_length(summary_json -> 'mcqs'), 0) AS mcqCount,
+                   COALESCE(jsonb_array_length(summary_json -> 'flashcards'), 0) AS flashcardCount
+            FROM updated
+            """, nativeQuery = true)
+    Optional<ItemCounts> appendItems(@Param("id") UUID id, @Param("email") String email,
+                                     @Param("key") String key, @Param("items") String items);
 }
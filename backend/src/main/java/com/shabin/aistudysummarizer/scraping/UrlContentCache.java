@@ -0,0 +1,84 @@
+package com.shabin.aistudysummarizer.scraping;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of text extracted from web pages, keyed by URL.
+ * Entries are served directly while fresh; after that they keep their ETag and Last-Modified
+ * validators so the page can be revalidated with a conditional GET instead of refetched and reparsed.
+ */
+@Component
+@Slf4j
+public class UrlContentCache {
+
+    private final Map<String, CachedPage> entries;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scraping.cache.fresh-ttl-seconds:300}")  // Served without contacting the origin for this long
+    private long freshTtlSeconds;
+
+    /**
+     * Extracted text of a page with the validators needed to revalidate it
+     */
+    public record CachedPage(String text, String etag, String lastModified, long fetchedAtMillis) {
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        /**
+         * Same content, confirmed unchanged by the origin just now
+         */
+        public CachedPage revalidated() {
+            return new CachedPage(text, etag, lastModified, System.currentTimeMillis());
+        }
+    }
+
+    public UrlContentCache(@Value("${scraping.cache.max-entries:500}") int maxEntries, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPage> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        Gauge.builder("scraping.cache.size", this, UrlContentCache::size).register(meterRegistry);
+    }
+
+    /**
+     * @return The cached page, fresh or stale, or null if the URL is not cached
+     */
+    public synchronized CachedPage get(String url) {
+        return entries.get(url);
+    }
+
+    public synchronized void put(String url, CachedPage page) {
+        entries.put(url, page);
+    }
+
+    public synchronized void remove(String url) {
+        entries.remove(url);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public boolean isFresh(CachedPage page) {
+        return System.currentTimeMillis() - page.fetchedAtMillis() < freshTtlSeconds * 1000;
+    }
+
+    /**
+     * Count a lookup outcome: hit (served fresh), revalidated (304), changed (200 on revalidation) or miss
+     */
+    public void record(String result) {
+        meterRegistry.counter("scraping.cache.requests", "result", result).increment();
+    }
+}
@@ -0,0 +1,247 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.dto.document.BulkUploadResult;
+import com.shabin.aistudysummarizer.entity.Document;
+import com.shabin.aistudysummarizer.entity.DocumentContent;
+import com.shabin.aistudysummarizer.entity.SourceType;
+import com.shabin.aistudysummarizer.entity.User;
+import com.shabin.aistudysummarizer.exception.FileSizeException;
+import com.shabin.aistudysummarizer.exception.InvalidFileException;
+import com.shabin.aistudysummarizer.repository.DocumentRepository;
+import com.shabin.aistudysummarizer.util.PathMultipartFile;
+import com.shabin.aistudysummarizer.util.TempFileUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports every supported file in a ZIP archive as a separate document.
+ * Entries are read as a stream and spooled one at a time to temp files, so the archive is never
+ * held in memory. Validation and extraction of entries overlap with reading the next entry, with
+ * the number of entries in flight bounded; finished documents are saved in batches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DocumentService documentService;
+    private final DocumentValidationService validationService;
+    private final DocumentRepository documentRepository;
+
+    @Value("${file.max-size:52428800}")  // Applies to each entry
+    private long maxFileSize;
+
+    @Value("${bulk.max-entries:100}")
+    private int maxEntries;
+
+    @Value("${bulk.max-in-flight:0}")  // 0 = number of cores
+    private int maxInFlight;
+
+    @Value("${bulk.batch-size:20}")
+    private int batchSize;
+
+    @Value("${extraction.temp-dir:}")
+    private String tempDir;
+
+    /**
+     * An archive entry whose content is being resolved
+     */
+    private record Entry(int index, PathMultipartFile file, SourceType sourceType,
+                         CompletableFuture<DocumentContent> content) {
+    }
+
+    /**
+     * Import an archive for the current user. If the archive cannot be read to the end, the files
+     * read before the error are still imported and a failure is reported for the rest.
+     * @param archive ZIP upload
+     * @return One result per file entry, in archive order
+     * @throws InvalidFileException if not a single file could be read from the archive
+     */
+    public List<BulkUploadResult> uploadArchive(MultipartFile archive) {
+        validationService.validateArchive(archive);
+        User user = documentService.currentUser();
+        Semaphore inFlight = new Semaphore(maxInFlight > 0 ? maxInFlight : Runtime.getRuntime().availableProcessors());
+        List<BulkUploadResult> results = new ArrayList<>();
+        List<Entry> pending = new ArrayList<>();
+
+        try (ZipInputStream zip = new ZipInputStream(archive.getInputStream())) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                if (zipEntry.isDirectory() || isHidden(zipEntry.getName())) {
+                    continue;
+                }
+
+                String filename = baseName(zipEntry.getName());
+                if (results.size() >= maxEntries) {
+                    results.add(BulkUploadResult.failure(filename,
+                            "Archive has more than " + maxEntries + " files; the remaining files were skipped"));
+                    break;
+                }
+
+                int index = results.size();
+                results.add(null);
+                Entry entry = startEntry(index, filename, zipEntry, zip, inFlight, results);
+                if (entry != null) {
+                    pending.add(entry);
+                }
+                saveCompleted(pending, results, user, false);
+            }
+        } catch (IOException e) {
+            log.error("Error reading archive {}: {}", archive.getOriginalFilename(), e.getMessage());
+            // The entry being read when the error occurred has no result yet
+            if (!results.isEmpty() && results.get(results.size() - 1) == null) {
+                results.remove(results.size() - 1);
+            }
+            if (results.isEmpty()) {
+                throw InvalidFileException.corruptedFile(archive.getOriginalFilename());
+            }
+            results.add(BulkUploadResult.failure(archive.getOriginalFilename(),
+                    "Archive could not be read past this point; the remaining files were skipped"));
+        }
+        saveCompleted(pending, results, user, true);
+
+        log.info("Bulk upload of {}: {} of {} files imported", archive.getOriginalFilename(),
+                results.stream().filter(BulkUploadResult::isSuccess).count(), results.size());
+        return results;
+    }
+
+    // Private helper methods
+
+    /**
+     * Spool, validate and start resolving one entry
+     * @return The started entry, or null if it failed (its result is already recorded)
+     */
+    private Entry startEntry(int index, String filename, ZipEntry zipEntry, ZipInputStream zip, Semaphore inFlight,
+                             List<BulkUploadResult> results) throws IOException {
+        Path spooled = null;
+        try {
+            spooled = spoolEntry(zip, zipEntry, filename);
+            PathMultipartFile file = new PathMultipartFile(spooled, filename);
+            validationService.validateFile(file);
+            SourceType sourceType = documentService.detectSourceType(filename);
+
+            inFlight.acquire();
+            CompletableFuture<DocumentContent> content;
+            try {
+                // A full extraction queue makes this thread extract the entry itself, which throttles reading
+                content = documentService.resolveContent(file, sourceType, true);
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+
+            Path toDelete = spooled;
+            return new Entry(index, file, sourceType, content.whenComplete((result, error) -> {
+                inFlight.release();
+                TempFileUtil.deleteQuietly(toDelete);
+            }));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            TempFileUtil.deleteQuietly(spooled);
+            throw new RuntimeException("Bulk upload was interrupted");
+        } catch (FileSizeException e) {
+            // Skip the rest of the entry instead of spooling it
+            TempFileUtil.deleteQuietly(spooled);
+            zip.closeEntry();
+            results.set(index, BulkUploadResult.failure(filename, e.getMessage()));
+            return null;
+        } catch (RuntimeException e) {
+            TempFileUtil.deleteQuietly(spooled);
+            results.set(index, BulkUploadResult.failure(filename, e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Save finished entries in batches. Unless waiting for all, only saves once a full batch is ready.
+     */
+    private void saveCompleted(List<Entry> pending, List<BulkUploadResult> results, User user, boolean waitForAll) {
+        List<Entry> ready = pending.stream()
+                .filter(entry -> waitForAll || entry.content().isDone())
+                .toList();
+        if (ready.isEmpty() || (!waitForAll && ready.size() < batchSize)) {
+            return;
+        }
+        pending.removeAll(ready);
+
+        for (int from = 0; from < ready.size(); from += batchSize) {
+            saveBatch(ready.subList(from, Math.min(from + batchSize, ready.size())), results, user);
+        }
+    }
+
+    private void saveBatch(List<Entry> batch, List<BulkUploadResult> results, User user) {
+        List<Entry> extracted = new ArrayList<>(batch.size());
+        List<Document> documents = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            try {
+                DocumentContent content = entry.content().join();
+                documents.add(documentService.newDocument(user, entry.file(), null, entry.sourceType(), content));
+                extracted.add(entry);
+            } catch (CompletionException e) {
+                String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                results.set(entry.index(), BulkUploadResult.failure(entry.file().getOriginalFilename(), message));
+            }
+        }
+
+        documentRepository.saveAll(documents);
+        for (int i = 0; i < documents.size(); i++) {
+            Entry entry = extracted.get(i);
+            results.set(entry.index(), BulkUploadResult.success(entry.file().getOriginalFilename(),
+                    documentService.mapToResponse(documents.get(i))));
+        }
+    }
+
+    /**
+     * Copy the current entry to a temp file, giving up as soon as it exceeds the size limit,
+     * or before reading it when the archive already declares it too large
+     */
+    private Path spoolEntry(InputStream zip, ZipEntry zipEntry, String filename) throws IOException {
+        if (zipEntry.getSize() > maxFileSize) {
+            throw new FileSizeException(zipEntry.getSize(), maxFileSize);
+        }
+        int dot = filename.lastIndexOf('.');
+        Path target = TempFileUtil.createTempFile(dot > 0 ? filename.substring(dot) : ".tmp", tempDir);
+        try (OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long copied = 0;
+            int read;
+            while ((read = zip.read(buffer)) != -1) {
+                copied += read;
+                if (copied > maxFileSize) {
+                    throw new FileSizeException(copied, maxFileSize);
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            TempFileUtil.deleteQuietly(target);
+            throw e;
+        }
+        return target;
+    }
+
+    private boolean isHidden(String entryName) {
+        return entryName.startsWith("__MACOSX/") || baseName(entryName).startsWith(".");
+    }
+
+    private String baseName(String entryName) {
+        return entryName.substring(entryName.lastIndexOf('/') + 1);
+    }
+}
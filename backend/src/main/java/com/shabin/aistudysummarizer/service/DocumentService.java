@@ -1,86 +1,145 @@
 package com.shabin.aistudysummarizer.service;
 
+import com.shabin.aistudysummarizer.blob.BlobStore;
+import com.shabin.aistudysummarizer.dto.document.DocumentListResponse;
 import com.shabin.aistudysummarizer.dto.document.DocumentUploadResponse;
 import com.shabin.aistudysummarizer.dto.document.UrlRequest;
 import com.shabin.aistudysummarizer.entity.*;
+import com.shabin.aistudysummarizer.repository.DocumentContentRepository;
 import com.shabin.aistudysummarizer.repository.DocumentRepository;
 import com.shabin.aistudysummarizer.repository.UserRepository;
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
+import com.shabin.aistudysummarizer.util.ContentHashUtil;
 import com.shabin.aistudysummarizer.util.SecurityUtil;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentService {
 
         private final DocumentRepository documentRepository;
+        private final DocumentContentRepository documentContentRepository;
+        private final BlobStore blobStore;
         private final UserRepository userRepository;
-        private final PdfService pdfService;
-        private final OcrService ocrService;
+        private final ExtractionService extractionService;
         private final WebScrapingService webScrapingService;
-        private final DocxService docxService;
-        private final PptxService pptxService;
-        private final TextFileService textFileService;
+        private final MeterRegistry meterRegistry;
 
-        public DocumentUploadResponse uploadDocument(MultipartFile file, String title, SourceType sourceType) {
+        private final AtomicLong dedupHits = new AtomicLong();
+        private final AtomicLong dedupLookups = new AtomicLong();
 
-                String email = SecurityUtil.getCurrentUserEmail();
-                User user = userRepository.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+        @Value("${file.max-text-length:1000000}")  // 1 million characters
+        private int maxTextLength;
+
+        @PostConstruct
+        void registerMetrics() {
+                Gauge.builder("upload.dedup.ratio",
+                                () -> dedupLookups.get() == 0 ? 0.0 : (double) dedupHits.get() / dedupLookups.get())
+                                .description("Share of uploads whose content was already extracted")
+                                .register(meterRegistry);
+        }
+
+        /**
+         * Extract and store an uploaded document. Extraction runs on the extraction executor,
+         * so the request thread is released while the file is parsed.
+         * @throws com.shabin.aistudysummarizer.exception.ServiceBusyException if the extraction queue is full
+         */
+        public CompletableFuture<DocumentUploadResponse> uploadDocument(MultipartFile file, String title,
+                        SourceType sourceType) {
 
-                String extractedText;
-                SourceType detectedSourceType = sourceType;
+                User user = currentUser();
 
                 // If sourceType is not explicitly provided, detect it from filename
-                if (sourceType == null) {
-                        detectedSourceType = detectSourceType(file.getOriginalFilename());
-                }
+                SourceType detectedSourceType = sourceType != null
+                                ? sourceType
+                                : detectSourceType(file.getOriginalFilename());
 
-                // Extract text based on file type
-                if (detectedSourceType == SourceType.IMAGE) {
-                        extractedText = ocrService.extractText(file);
-                } else if (detectedSourceType == SourceType.DOCX) {
-                        extractedText = docxService.extractText(file);
-                } else if (detectedSourceType == SourceType.PPTX) {
-                        extractedText = pptxService.extractText(file);
-                } else if (detectedSourceType == SourceType.TEXT || detectedSourceType == SourceType.MARKDOWN) {
-                        extractedText = textFileService.extractText(file);
-                } else {
-                        // Default to PDF
-                        extractedText = pdfService.extractText(file);
-                }
+                return resolveContent(file, detectedSourceType, false).thenApply(content -> {
+                        Document document = newDocument(user, file, title, detectedSourceType, content);
+                        documentRepository.save(document);
+                        return mapToResponse(document);
+                });
+        }
 
-                Document document = Document.builder()
-                                .user(user)
-                                .title(title == null ? file.getOriginalFilename() : title)
-                                .sourceType(detectedSourceType)
-                                .originalFilename(file.getOriginalFilename())
-                                .fileSizeBytes(file.getSize())
-                                .extractedText(extractedText)
-                                .build();
+        /**
+         * Find or create the extracted content for an upload. Files already uploaded by anyone
+         * reuse the stored text without being parsed again. The original file is kept only once
+         * its content row is saved, so duplicate and rejected uploads leave no blob behind.
+         * @param runInlineWhenBusy Extract on the calling thread instead of rejecting when the queue is full
+         */
+        CompletableFuture<DocumentContent> resolveContent(MultipartFile file, SourceType sourceType,
+                        boolean runInlineWhenBusy) {
+                String contentHash = hash(file);
+                dedupLookups.incrementAndGet();
+                Optional<DocumentContent> existing = documentContentRepository.findByContentHash(contentHash);
+                if (existing.isPresent()) {
+                        DocumentContent content = existing.get();
+                        dedupHits.incrementAndGet();
+                        meterRegistry.counter("upload.dedup", "result", "hit").increment();
+                        if (content.getExtractionMillis() != null) {
+                                meterRegistry.timer("upload.dedup.parse.time.saved")
+                                                .record(content.getExtractionMillis(), TimeUnit.MILLISECONDS);
+                        }
+                        log.info("Upload {} matches existing content {}, skipping extraction",
+                                        file.getOriginalFilename(), content.getId());
+                        return CompletableFuture.completedFuture(content);
+                }
+                meterRegistry.counter("upload.dedup", "result", "miss").increment();
 
-                documentRepository.save(document);
+                CompletableFuture<ExtractionService.Result> extraction = runInlineWhenBusy
+                                ? extractionService.submitOrRun(file, sourceType)
+                                : extractionService.submit(file, sourceType);
 
-                return mapToResponse(document);
+                return extraction.thenApply(result -> {
+                        DocumentContent content = saveContent(DocumentContent.builder()
+                                        .contentHash(contentHash)
+                                        .extractedText(result.text())
+                                        .textTruncated(result.truncated())
+                                        .extractionMillis(result.extractionMillis())
+                                        .build());
+                        storeOriginal(file, contentHash);
+                        return content;
+                });
         }
 
         public DocumentUploadResponse processUrl(UrlRequest request) {
-                String email = SecurityUtil.getCurrentUserEmail();
-                User user = userRepository.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                User user = currentUser();
 
-                String extractedContent = webScrapingService.scrapeUrl(request.getUrl());
+                BoundedTextSink sink = new BoundedTextSink(maxTextLength);
+                sink.append(webScrapingService.scrapeUrl(request.getUrl()));
+
+                // Scraped pages can change, so their content is never shared
+                DocumentContent content = saveContent(DocumentContent.builder()
+                                .extractedText(sink.toString())
+                                .textTruncated(sink.isTruncated())
+                                .build());
 
                 Document document = Document.builder()
                                 .user(user)
                                 .title(request.getTitle() != null ? request.getTitle() : "Scraped: " + request.getUrl())
                                 .sourceType(SourceType.URL)
                                 .sourceUrl(request.getUrl())
-                                .extractedText(extractedContent)
+                                .content(content)
+                                .textTruncated(content.isTextTruncated())
                                 .build();
 
                 documentRepository.save(document);
@@ -88,7 +147,76 @@ public class DocumentService {
                 return mapToResponse(document);
         }
 
-        private SourceType detectSourceType(String filename) {
+        /**
+         * List the current user's documents without loading their text
+         */
+        public Page<DocumentListResponse> getUserDocuments(Pageable pageable) {
+                return documentRepository.findListByUserEmail(SecurityUtil.getCurrentUserEmail(), pageable);
+        }
+
+        User currentUser() {
+                String email = SecurityUtil.getCurrentUserEmail();
+                return userRepository.findByEmail(email)
+                                .orElseThrow(() -> new RuntimeException("User not found"));
+        }
+
+        /**
+         * Build an unsaved document for an upload, owned by the uploader
+         */
+        Document newDocument(User user, MultipartFile file, String title, SourceType sourceType,
+                        DocumentContent content) {
+                return Document.builder()
+                                .user(user)
+                                .title(title == null ? file.getOriginalFilename() : title)
+                                .sourceType(sourceType)
+                                .originalFilename(file.getOriginalFilename())
+                                .fileSizeBytes(file.getSize())
+                                .blobHash(content.getContentHash())
+                                .content(content)
+                                .textTruncated(content.isTextTruncated())
+                                .build();
+        }
+
+        // Private helper methods
+
+        /**
+         * Store newly extracted content. If an identical upload finished first, its row wins the
+         * unique hash constraint and is reused instead.
+         */
+        private DocumentContent saveContent(DocumentContent content) {
+                try {
+                        return documentContentRepository.save(content);
+                } catch (DataIntegrityViolationException e) {
+                        return documentContentRepository.findByContentHash(content.getContentHash())
+                                        .orElseThrow(() -> e);
+                }
+        }
+
+        /**
+         * Keep the original file, so improved extractors can be run over it later. Stored once
+         * per distinct file; uploads of files kept before are not written again.
+         */
+        private void storeOriginal(MultipartFile file, String contentHash) {
+                if (blobStore.contains(contentHash)) {
+                        return;
+                }
+                try (InputStream inputStream = file.getInputStream()) {
+                        blobStore.put(contentHash, inputStream);
+                } catch (IOException e) {
+                        throw new RuntimeException("Failed to store uploaded file: " + e.getMessage());
+                }
+        }
+
+        private String hash(MultipartFile file) {
+                // The servlet container has already spooled the part; hash it in one streaming pass
+                try (InputStream inputStream = file.getInputStream()) {
+                        return ContentHashUtil.sha256Hex(inputStream);
+                } catch (IOException e) {
+                        throw new RuntimeException("Failed to read uploaded file: " + e.getMessage());
+                }
+        }
+
+        SourceType detectSourceType(String filename) {
                 if (filename == null) {
                         return SourceType.PDF; // Default
                 }
@@ -116,12 +244,13 @@ public class DocumentService {
                 return filename.matches(".*\\.(jpg|jpeg|png|gif|bmp|webp)$");
         }
 
-        private DocumentUploadResponse mapToResponse(Document document) {
+        DocumentUploadResponse mapToResponse(Document document) {
                 return DocumentUploadResponse.builder()
                                 .documentId(document.getId())
                                 .title(document.getTitle())
                                 .sourceType(document.getSourceType().name())
                                 .sourceUrl(document.getSourceUrl())
+                                .textTruncated(document.isTextTruncated())
                                 .createdAt(document.getCreatedAt())
                                 .build();
         }
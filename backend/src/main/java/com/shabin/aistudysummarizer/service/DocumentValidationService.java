@@ -35,6 +35,9 @@ public class DocumentValidationService {
     @Value("${file.max-size:52428800}")  // 50MB default
     private long maxFileSize;
 
+    @Value("${file.max-archive-size:524288000}")  // 500MB default
+    private long maxArchiveSize;
+
     @Value("${file.max-text-length:1000000}")  // 1 million characters
     private long maxTextLength;
 
@@ -56,6 +59,40 @@ public class DocumentValidationService {
         validateFileSize(file.getSize());
     }
 
+    /**
+     * Validate the name and declared size of a file before its bytes arrive
+     * @param fileName Name of the file to upload
+     * @param fileSize Declared size in bytes
+     * @throws FileSizeException if the file is too large
+     * @throws ValidationException if file type is not allowed
+     */
+    public void validateUpload(String fileName, long fileSize) {
+        validateFileName(fileName);
+        validateFileSize(fileSize);
+    }
+
+    /**
+     * Validate a ZIP archive for bulk upload; its entries are validated individually
+     * @param archive The archive to validate
+     * @throws InvalidFileException if the archive is empty
+     * @throws ValidationException if the archive is not a ZIP file
+     * @throws FileSizeException if the archive is too large
+     */
+    public void validateArchive(MultipartFile archive) {
+        if (archive == null || archive.isEmpty()) {
+            throw InvalidFileException.emptyContent();
+        }
+
+        String fileName = archive.getOriginalFilename();
+        if (fileName == null || !getFileExtension(fileName).equalsIgnoreCase("zip")) {
+            throw new ValidationException("Bulk upload requires a .zip archive");
+        }
+
+        if (archive.getSize() > maxArchiveSize) {
+            throw new FileSizeException(archive.getSize(), maxArchiveSize);
+        }
+    }
+
     /**
      * Validate extracted text length
      * @param text The extracted text
@@ -68,7 +105,7 @@ public class DocumentValidationService {
 
         if (text.length() > maxTextLength) {
             log.warn("Extracted text length {} exceeds maximum {}", text.length(), maxTextLength);
-            // Truncate instead of throwing exception
+            // Extractors stop at the limit and flag the document as truncated, so this should not happen
         }
     }
 
@@ -1,34 +1,55 @@
 package com.shabin.aistudysummarizer.service;
 
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
+import com.shabin.aistudysummarizer.util.XmlUtil;
+import com.shabin.aistudysummarizer.util.ZipBombGuardInputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
+/**
+ * Extracts text from DOCX files by streaming word/document.xml through a SAX parser.
+ * Paragraphs and table cells are emitted in document order without building the POI object model,
+ * and parsing stops as soon as the text sink is full. The part is read through the same zip bomb
+ * limits POI applies when it opens a package.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DocxService {
 
-    public String extractText(MultipartFile file) {
-        try {
-            XWPFDocument document = new XWPFDocument(file.getInputStream());
-            StringBuilder textBuilder = new StringBuilder();
+    private static final String DOCUMENT_PART = "word/document.xml";
+    private static final String WORDML_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    public String extractText(MultipartFile file, BoundedTextSink sink) {
+        try (ZipBombGuardInputStream.ByteCounter raw = new ZipBombGuardInputStream.ByteCounter(file.getInputStream());
+             ZipInputStream zip = new ZipInputStream(raw)) {
+            String extractedText = null;
 
-            for (XWPFParagraph paragraph : document.getParagraphs()) {
-                String text = paragraph.getText();
-                if (text != null && !text.isEmpty()) {
-                    textBuilder.append(text).append("\n");
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (DOCUMENT_PART.equals(entry.getName())) {
+                    long entryStart = raw.getCount();
+                    parseDocument(new ZipBombGuardInputStream(zip, () -> raw.getCount() - entryStart,
+                            entry.getName()), sink);
+                    extractedText = sink.toString().trim();
+                    break;
                 }
             }
 
-            document.close();
-
-            String extractedText = textBuilder.toString().trim();
+            if (extractedText == null) {
+                throw new RuntimeException("The DOCX file has no document body");
+            }
             if (extractedText.isEmpty()) {
                 throw new RuntimeException("No text could be extracted from the DOCX file");
             }
@@ -42,4 +63,112 @@ public class DocxService {
             throw new RuntimeException("Failed to process DOCX file: " + e.getMessage());
         }
     }
+
+    void parseDocument(InputStream documentXml, BoundedTextSink sink)
+            throws IOException, SAXException, ParserConfigurationException {
+        try {
+            XmlUtil.newSaxParser().parse(XmlUtil.nonClosing(documentXml), new BodyHandler(sink));
+        } catch (LimitReachedException e) {
+            log.info("DOCX text reached the {} character limit, stopped parsing early", sink.getLimit());
+        }
+    }
+
+    /**
+     * Collects run text (w:t), tabs and breaks. Paragraph ends become newlines, except inside
+     * table cells where paragraphs are joined with spaces, cells with " | " and rows with newlines.
+     * Tab stop definitions (w:tab inside w:pPr/w:tabs) are formatting, not content, and are skipped.
+     */
+    private static class BodyHandler extends DefaultHandler {
+
+        private final BoundedTextSink sink;
+        private int tableDepth;
+        private boolean inText;
+        private boolean inTabStops;
+        private boolean cellHasText;
+        private boolean pendingSpace;  // Paragraph or line break inside a table cell
+
+        BodyHandler(BoundedTextSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if (!WORDML_NS.equals(uri)) {
+                return;
+            }
+            switch (localName) {
+                case "t" -> inText = true;
+                case "tab" -> {
+                    if (!inTabStops) {
+                        append("\t");
+                    }
+                }
+                case "tabs" -> inTabStops = true;
+                case "br", "cr" -> {
+                    if (tableDepth == 0) {
+                        append("\n");
+                    } else {
+                        pendingSpace = cellHasText;
+                    }
+                }
+                case "tbl" -> tableDepth++;
+                case "tc" -> {
+                    cellHasText = false;
+                    pendingSpace = false;
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (!WORDML_NS.equals(uri)) {
+                return;
+            }
+            switch (localName) {
+                case "t" -> inText = false;
+                case "tabs" -> inTabStops = false;
+                case "p" -> {
+                    if (tableDepth == 0) {
+                        append("\n");
+                    } else {
+                        pendingSpace = cellHasText;
+                    }
+                }
+                case "tc" -> append(" | ");
+                case "tr" -> append("\n");
+                case "tbl" -> {
+                    tableDepth--;
+                    append("\n");
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (inText) {
+                if (pendingSpace) {
+                    pendingSpace = false;
+                    append(" ");
+                }
+                cellHasText = true;
+                append(new String(ch, start, length));
+            }
+        }
+
+        private void append(String value) throws SAXException {
+            if (!sink.append(value)) {
+                throw new LimitReachedException();
+            }
+        }
+    }
+
+    /**
+     * Thrown from the handler to abort the parse once enough text has been collected
+     */
+    private static class LimitReachedException extends SAXException {
+    }
 }
@@ -0,0 +1,139 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.entity.SourceType;
+import com.shabin.aistudysummarizer.exception.ServiceBusyException;
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs text extraction for uploads on the bounded extraction executor instead of the request thread.
+ * When the executor's queue is full the upload is rejected with 503 and Retry-After.
+ * Publishes queue depth, queue wait and service time per source type.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExtractionService {
+
+    private final PdfService pdfService;
+    private final OcrService ocrService;
+    private final DocxService docxService;
+    private final PptxService pptxService;
+    private final TextFileService textFileService;
+
+    @Qualifier("documentExtractionExecutor")
+    private final ThreadPoolTaskExecutor extractionExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<SourceType, AtomicInteger> queued = new EnumMap<>(SourceType.class);
+
+    @Value("${file.max-text-length:1000000}")  // 1 million characters
+    private int maxTextLength;
+
+    @Value("${extraction.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    /**
+     * Extracted text, whether it was cut off at the text length limit, and how long extraction took
+     */
+    public record Result(String text, boolean truncated, long extractionMillis) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        for (SourceType sourceType : SourceType.values()) {
+            AtomicInteger depth = new AtomicInteger();
+            queued.put(sourceType, depth);
+            Gauge.builder("extraction.queue.depth", depth::get)
+                    .tag("source_type", sourceType.name())
+                    .description("Uploads waiting for an extraction worker")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Queue an upload for extraction
+     * @param file The uploaded file; must stay readable until the returned future completes
+     * @param sourceType Type that selects the extractor
+     * @return Future completed on an extraction worker
+     * @throws ServiceBusyException if the extraction queue is full
+     */
+    public CompletableFuture<Result> submit(MultipartFile file, SourceType sourceType) {
+        AtomicInteger depth = queued.get(sourceType);
+        long enqueuedAt = System.nanoTime();
+        depth.incrementAndGet();
+        try {
+            return extractionExecutor.submitCompletable(() -> {
+                depth.decrementAndGet();
+                timer("extraction.queue.wait", sourceType).record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timer("extraction.service.time", sourceType).recordCallable(() -> extract(file, sourceType));
+            });
+        } catch (TaskRejectedException e) {
+            depth.decrementAndGet();
+            meterRegistry.counter("extraction.rejected", "source_type", sourceType.name()).increment();
+            log.warn("Extraction queue full, rejecting {} upload {}", sourceType, file.getOriginalFilename());
+            throw ServiceBusyException.extractionBusy(retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Queue an upload for extraction, or extract it on the calling thread when the queue is full.
+     * For callers that must not drop work, such as bulk uploads; running inline slows the caller
+     * down instead of growing the queue.
+     */
+    public CompletableFuture<Result> submitOrRun(MultipartFile file, SourceType sourceType) {
+        try {
+            return submit(file, sourceType);
+        } catch (ServiceBusyException e) {
+            try {
+                return CompletableFuture.completedFuture(extract(file, sourceType));
+            } catch (RuntimeException extractionFailure) {
+                return CompletableFuture.failedFuture(extractionFailure);
+            }
+        }
+    }
+
+    /**
+     * Extract text on the calling thread with the extractor for the source type
+     */
+    public Result extract(MultipartFile file, SourceType sourceType) {
+        long start = System.nanoTime();
+        // Extractors stop parsing once the sink reaches the text length limit
+        BoundedTextSink sink = new BoundedTextSink(maxTextLength);
+
+        String text = switch (sourceType) {
+            case IMAGE -> ocrService.extractText(file, sink);
+            case DOCX -> docxService.extractText(file, sink);
+            case PPTX -> pptxService.extractText(file, sink);
+            case TEXT, MARKDOWN -> textFileService.extractText(file, sink);
+            default -> pdfService.extractText(file, sink);
+        };
+
+        if (sink.isTruncated()) {
+            log.info("Text of {} truncated at {} characters", file.getOriginalFilename(), maxTextLength);
+        }
+        return new Result(text, sink.isTruncated(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private Timer timer(String name, SourceType sourceType) {
+        return meterRegistry.timer(name, "source_type", sourceType.name());
+    }
+}
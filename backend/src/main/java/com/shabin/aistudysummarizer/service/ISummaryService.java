@@ -1,5 +1,9 @@
 package com.shabin.aistudysummarizer.service;
 
+import com.shabin.aistudysummarizer.dto.CursorPage;
+import com.shabin.aistudysummarizer.dto.summary.SummaryContent;
+import com.shabin.aistudysummarizer.dto.summary.SummaryItemsResponse;
+import com.shabin.aistudysummarizer.dto.summary.SummaryListResponse;
 import com.shabin.aistudysummarizer.dto.summary.SummaryRequestDTO;
 import com.shabin.aistudysummarizer.dto.summary.SummaryResponse;
 import org.springframework.data.domain.Page;
@@ -27,9 +31,16 @@ public interface ISummaryService {
     CompletableFuture<SummaryResponse> generateSummaryAsync(SummaryRequestDTO request);
 
     /**
-     * Get user's summaries with pagination
+     * Get user's summaries with pagination, without their content
      */
-    Page<SummaryResponse> getUserSummaries(Pageable pageable);
+    Page<SummaryListResponse> getUserSummaries(Pageable pageable);
+
+    /**
+     * Get a slice of the user's summaries, newest first, starting after a cursor
+     * @param cursor nextCursor of the previous slice, or null for the first slice
+     * @param includeTotal Whether to also count all of the user's summaries
+     */
+    CursorPage<SummaryListResponse> getUserSummaries(String cursor, int size, boolean includeTotal);
 
     /**
      * Get specific summary by ID
@@ -38,13 +49,15 @@ public interface ISummaryService {
 
     /**
      * Generate additional MCQs for existing summary
+     * @return Only the new MCQs, with the summary's updated item counts
      */
-    SummaryResponse generateMoreMcqs(UUID summaryId);
+    SummaryItemsResponse<SummaryContent.Mcq> generateMoreMcqs(UUID summaryId);
 
     /**
      * Generate additional flashcards for existing summary
+     * @return Only the new flashcards, with the summary's updated item counts
      */
-    SummaryResponse generateMoreFlashcards(UUID summaryId);
+    SummaryItemsResponse<SummaryContent.Flashcard> generateMoreFlashcards(UUID summaryId);
 
     /**
      * Generate additional summary content
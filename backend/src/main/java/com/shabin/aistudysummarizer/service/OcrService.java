@@ -1,26 +1,59 @@
 package com.shabin.aistudysummarizer.service;
 
+import com.shabin.aistudysummarizer.ocr.ImagePreprocessor;
+import com.shabin.aistudysummarizer.ocr.ImageTiler;
+import com.shabin.aistudysummarizer.ocr.TesseractEnginePool;
+import com.shabin.aistudysummarizer.ocr.TextBlock;
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.sourceforge.tess4j.ITesseract;
-import net.sourceforge.tess4j.Tesseract;
-import net.sourceforge.tess4j.TesseractException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class OcrService {
 
-    @Value("${tesseract.datapath:}")
-    private String tesseractDataPath;
+    private static final int ESCALATION_PADDING = 8;
 
-    public String extractText(MultipartFile file) {
+    @Qualifier("fastEnginePool")
+    private final TesseractEnginePool fastEnginePool;
+
+    @Qualifier("accurateEnginePool")
+    private final TesseractEnginePool accurateEnginePool;
+
+    private final ImagePreprocessor imagePreprocessor;
+    private final ImageTiler imageTiler;
+
+    @Qualifier("documentParsingExecutor")
+    private final ThreadPoolTaskExecutor parsingExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ocr.escalation.enabled:true}")
+    private boolean escalationEnabled;
+
+    @Value("${ocr.escalation.min-confidence:70}")  // Blocks below this mean word confidence are re-read
+    private float minConfidence;
+
+    public String extractText(MultipartFile file, BoundedTextSink sink) {
         if (file.isEmpty()) {
             throw new RuntimeException("Image file is empty");
         }
@@ -31,27 +64,127 @@ public class OcrService {
                 throw new RuntimeException("Could not read image from file");
             }
 
-            ITesseract tesseract = new Tesseract();
-
-            // If datapath is provided in config, use it. Otherwise, it uses default.
-            if (tesseractDataPath != null && !tesseractDataPath.isBlank()) {
-                tesseract.setDatapath(tesseractDataPath);
-            }
+            BufferedImage prepared = imagePreprocessor.process(image);
+            List<ImageTiler.Band> bands = imageTiler.split(prepared);
 
-            String result = tesseract.doOCR(image);
+            String result = bands.size() > 1
+                    ? cleanText(recognizeBands(bands, sink))
+                    : cleanText(recognize(prepared));
 
-            if (result == null || result.isBlank()) {
+            if (result.isBlank()) {
                 throw new RuntimeException("No text could be extracted from image");
             }
 
-            return cleanText(result);
+            sink.append(result);
+            return sink.toString();
 
-        } catch (IOException | TesseractException e) {
+        } catch (IOException e) {
             log.error("Error during OCR processing", e);
             throw new RuntimeException("Failed to perform OCR on image: " + e.getMessage());
         }
     }
 
+    /**
+     * OCR an already decoded image, such as a rendered PDF page.
+     * Runs on the calling thread without tiling, so it is safe to call from parsing pool workers.
+     * @param image The image to recognize
+     * @return Cleaned text, empty if nothing was recognized
+     */
+    public String extractText(BufferedImage image) {
+        BufferedImage prepared = imagePreprocessor.process(image);
+        return cleanText(recognize(prepared));
+    }
+
+    /**
+     * Read an image with the fast engine, then re-read only the paragraphs whose mean word
+     * confidence is below the threshold with the accurate engine
+     */
+    private String recognize(BufferedImage image) {
+        if (!escalationEnabled) {
+            return timed("accurate", () -> accurateEnginePool.execute(engine -> engine.recognize(image)));
+        }
+
+        List<TextBlock> blocks = timed("fast", () -> fastEnginePool.execute(engine -> engine.recognizeBlocks(image)));
+        meterRegistry.counter("ocr.regions").increment(blocks.size());
+
+        List<String> texts = new ArrayList<>(blocks.size());
+        int escalated = 0;
+        for (TextBlock block : blocks) {
+            Rectangle region = padded(block.bounds(), image);
+            if (block.confidence() >= minConfidence || region.isEmpty()) {
+                texts.add(block.text());
+                continue;
+            }
+
+            escalated++;
+            BufferedImage crop = image.getSubimage(region.x, region.y, region.width, region.height);
+            String reread = timed("accurate", () -> accurateEnginePool.execute(engine -> engine.recognize(crop)));
+            texts.add(reread.isBlank() ? block.text() : reread);
+        }
+
+        if (escalated > 0) {
+            meterRegistry.counter("ocr.regions.escalated").increment(escalated);
+            log.debug("Escalated {} of {} OCR blocks below confidence {}", escalated, blocks.size(), minConfidence);
+        }
+        return String.join("\n", texts);
+    }
+
+    private <T> T timed(String pass, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            meterRegistry.timer("ocr.pass", "pass", pass).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Rectangle padded(Rectangle bounds, BufferedImage image) {
+        Rectangle padded = new Rectangle(bounds);
+        padded.grow(ESCALATION_PADDING, ESCALATION_PADDING);
+        return padded.intersection(new Rectangle(0, 0, image.getWidth(), image.getHeight()));
+    }
+
+    /**
+     * Recognize bands concurrently, each on its own pooled engines, and stitch them in order.
+     * Bands after the point where the text reaches the sink's limit are cancelled.
+     */
+    private String recognizeBands(List<ImageTiler.Band> bands, BoundedTextSink sink) {
+        List<Future<String>> results = new ArrayList<>(bands.size());
+        for (ImageTiler.Band band : bands) {
+            results.add(parsingExecutor.submit(() -> recognize(band.image())));
+        }
+
+        log.debug("Recognizing image in {} bands", bands.size());
+
+        List<String> texts = new ArrayList<>(bands.size());
+        int chars = 0;
+        try {
+            for (Future<String> result : results) {
+                if (chars >= sink.getLimit()) {
+                    results.forEach(pending -> pending.cancel(true));
+                    log.info("OCR text reached the {} character limit, skipped {} of {} bands",
+                            sink.getLimit(), bands.size() - texts.size(), bands.size());
+                    sink.markTruncated();
+                    break;
+                }
+                String text = result.get();
+                texts.add(text);
+                chars += text.length();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            results.forEach(result -> result.cancel(true));
+            throw new RuntimeException("OCR was interrupted");
+        } catch (ExecutionException e) {
+            results.forEach(result -> result.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to perform OCR on image: " + e.getCause().getMessage());
+        }
+        return imageTiler.stitch(bands, texts);
+    }
+
     private String cleanText(String text) {
         return text.replaceAll("\\s+", " ").trim();
     }
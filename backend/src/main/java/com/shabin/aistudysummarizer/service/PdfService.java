@@ -1,45 +1,339 @@
 package com.shabin.aistudysummarizer.service;
 
+import com.shabin.aistudysummarizer.util.BoilerplateStripper;
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
+import com.shabin.aistudysummarizer.util.TempFileUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.DefaultResourceCache;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class PdfService {
 
-    public String extractText(MultipartFile file) {
+    @Qualifier("documentParsingExecutor")
+    private final ThreadPoolTaskExecutor parsingExecutor;
+    private final OcrService ocrService;
+
+    @Value("${extraction.pdf.pages-per-range:16}")
+    private int minPagesPerRange;
+
+    @Value("${extraction.pdf.max-main-memory-bytes:16777216}")  // 16MB per open document, rest spills to scratch files
+    private long maxMainMemoryBytes;
+
+    @Value("${extraction.temp-dir:}")
+    private String tempDir;
+
+    @Value("${extraction.pdf.ocr-enabled:true}")
+    private boolean ocrEnabled;
+
+    @Value("${extraction.pdf.ocr-min-chars:25}")  // Pages with fewer non-space characters are treated as scanned
+    private int ocrMinChars;
+
+    @Value("${extraction.pdf.ocr-dpi:300}")
+    private float ocrDpi;
+
+    public String extractText(MultipartFile file, BoundedTextSink sink) {
 
         if (file.isEmpty()) {
             throw new RuntimeException("PDF file is empty");
         }
 
-        try (InputStream inputStream = file.getInputStream();
-             PDDocument document = PDDocument.load(inputStream)) {
+        Path spooled = null;
+        try {
+            // Spool to disk so PDFBox reads from the file instead of a heap copy of the upload
+            spooled = TempFileUtil.spool(file, ".pdf", tempDir);
 
-            if (document.isEncrypted()) {
-                throw new RuntimeException("Encrypted PDFs are not supported");
+            int pageCount;
+            try (PDDocument document = load(spooled)) {
+                if (document.isEncrypted()) {
+                    throw new RuntimeException("Encrypted PDFs are not supported");
+                }
+                pageCount = document.getNumberOfPages();
             }
 
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setSortByPosition(true);
+            List<String> pages = extractPages(spooled, pageCount, sink.getLimit());
+            // Ranges only end early once the budget is reached
+            boolean skippedPages = pages.size() < pageCount;
 
-            String text = stripper.getText(document);
+            // Scanned pages have no (or almost no) text layer; OCR them and merge in page order
+            if (ocrEnabled) {
+                ocrSparsePages(spooled, pages);
+            }
 
-            if (text == null || text.isBlank()) {
+            if (pages.stream().allMatch(String::isBlank)) {
                 throw new RuntimeException("No readable text found in PDF");
             }
 
-            return cleanText(text);
+            // Drop running headers, footers and page numbers while page boundaries are still known
+            BoilerplateStripper.Result stripped = BoilerplateStripper.strip(pages);
+            log.info("Stripped {} boilerplate characters from {} PDF pages: {}",
+                    stripped.totalRemoved(), stripped.pages().size(), stripped.removedByStage());
+
+            for (String page : stripped.pages()) {
+                String pageText = cleanText(page);
+                if (!pageText.isEmpty() && !sink.append(pageText + " ")) {
+                    break;
+                }
+            }
+            if (skippedPages) {
+                log.info("PDF text reached the {} character limit, skipped {} of {} pages",
+                        sink.getLimit(), pageCount - pages.size(), pageCount);
+                sink.markTruncated();
+            }
+
+            return sink.toString().trim();
 
         } catch (IOException e) {
             log.error("Error parsing PDF", e);
             throw new RuntimeException("Failed to parse PDF file");
+        } finally {
+            TempFileUtil.deleteQuietly(spooled);
+        }
+    }
+
+    /**
+     * Extract text page by page, splitting large documents into page ranges that are
+     * stripped concurrently. PDDocument is not thread-safe, so each range loads its own copy.
+     * Ranges are collected in order until their text reaches the budget; later ranges are cancelled
+     * and a range stops at the page where its own text reaches the budget.
+     * @return Text of the leading pages whose combined text covers the budget, or of all pages;
+     *         element i is always page i + 1
+     */
+    List<String> extractPages(Path pdf, int pageCount, int charBudget) throws IOException {
+        int parallelism = parsingExecutor.getMaxPoolSize();
+        int pagesPerRange = Math.max(minPagesPerRange, (int) Math.ceil((double) pageCount / parallelism));
+
+        if (parallelism <= 1 || pageCount <= pagesPerRange) {
+            return extractRange(pdf, 1, pageCount, charBudget);
+        }
+
+        List<Future<List<String>>> ranges = new ArrayList<>();
+        for (int start = 1; start <= pageCount; start += pagesPerRange) {
+            int first = start;
+            int last = Math.min(start + pagesPerRange - 1, pageCount);
+            ranges.add(parsingExecutor.submit(() -> extractRange(pdf, first, last, charBudget)));
+        }
+
+        log.debug("Extracting {} PDF pages in {} ranges of up to {} pages", pageCount, ranges.size(), pagesPerRange);
+
+        List<String> pages = new ArrayList<>(pageCount);
+        int chars = 0;
+        for (Future<List<String>> range : ranges) {
+            if (chars >= charBudget) {
+                ranges.forEach(pending -> pending.cancel(true));
+                break;
+            }
+            for (String page : await(range, ranges)) {
+                pages.add(page);
+                chars += page.length();
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Render pages whose text layer is missing or sparse and replace their text with OCR output.
+     * Sparse pages are split into one contiguous group per worker so each group opens the file once.
+     * @return Number of pages that were sent to OCR
+     */
+    int ocrSparsePages(Path pdf, List<String> pages) throws IOException {
+        List<Integer> sparse = new ArrayList<>();
+        for (int i = 0; i < pages.size(); i++) {
+            if (countNonWhitespace(pages.get(i)) < ocrMinChars) {
+                sparse.add(i);
+            }
+        }
+
+        if (sparse.isEmpty()) {
+            return 0;
+        }
+
+        int groupSize = (int) Math.ceil((double) sparse.size() / parsingExecutor.getMaxPoolSize());
+        List<Future<List<String>>> groups = new ArrayList<>();
+        for (int from = 0; from < sparse.size(); from += groupSize) {
+            List<Integer> group = sparse.subList(from, Math.min(from + groupSize, sparse.size()));
+            groups.add(parsingExecutor.submit(() -> ocrPages(pdf, group)));
+        }
+
+        log.info("Running OCR on {} of {} PDF pages at {} DPI in {} groups",
+                sparse.size(), pages.size(), ocrDpi, groups.size());
+
+        int next = 0;
+        for (List<String> groupText : awaitAll(groups)) {
+            for (String pageText : groupText) {
+                int pageIndex = sparse.get(next++);
+                if (countNonWhitespace(pageText) > countNonWhitespace(pages.get(pageIndex))) {
+                    pages.set(pageIndex, pageText);
+                }
+            }
+        }
+        return sparse.size();
+    }
+
+    private List<String> ocrPages(Path pdf, List<Integer> pageIndexes) throws IOException {
+        List<String> texts = new ArrayList<>(pageIndexes.size());
+        try (PDDocument document = load(pdf)) {
+            PDFRenderer renderer = new PDFRenderer(document);
+            for (int pageIndex : pageIndexes) {
+                try {
+                    BufferedImage image = renderer.renderImageWithDPI(pageIndex, ocrDpi, ImageType.GRAY);
+                    texts.add(ocrService.extractText(image));
+                } catch (RuntimeException e) {
+                    log.warn("OCR failed for PDF page {}: {}", pageIndex + 1, e.getMessage());
+                    texts.add("");
+                }
+            }
+        }
+        return texts;
+    }
+
+    private <T> List<T> awaitAll(List<Future<T>> futures) throws IOException {
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(await(future, futures));
+        }
+        return results;
+    }
+
+    /**
+     * Wait for one task, cancelling all of its siblings if it fails
+     */
+    private <T> T await(Future<T> future, List<? extends Future<?>> siblings) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            siblings.forEach(sibling -> sibling.cancel(true));
+            throw new RuntimeException("PDF extraction was interrupted");
+        } catch (ExecutionException e) {
+            siblings.forEach(sibling -> sibling.cancel(true));
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new RuntimeException("Failed to parse PDF file", e.getCause());
+        }
+    }
+
+    private int countNonWhitespace(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Text of each page from the start page up to the end page, or up to the page where
+     *         the budget was reached
+     */
+    private List<String> extractRange(Path pdf, int startPage, int endPage, int charBudget) throws IOException {
+        try (PDDocument document = load(pdf)) {
+            StringWriter output = new StringWriter();
+            BudgetedTextStripper stripper = new BudgetedTextStripper(output, charBudget);
+            stripper.setSortByPosition(true);
+            stripper.setStartPage(startPage);
+            stripper.setEndPage(endPage);
+            stripper.writeText(document, output);
+            return stripper.getPages();
+        }
+    }
+
+    /**
+     * Text stripper that collects the text of each page and skips the remaining pages of its range
+     * once its output reaches the budget. Skipped pages are still walked by PDFBox but their content
+     * streams are not parsed. PDFBox does not start or end pages without a content stream, so those
+     * are filled in as empty pages to keep the page numbering.
+     */
+    private static class BudgetedTextStripper extends PDFTextStripper {
+
+        private final StringWriter output;
+        private final int charBudget;
+        private final List<String> pages = new ArrayList<>();
+        private int pageStart;
+
+        BudgetedTextStripper(StringWriter output, int charBudget) throws IOException {
+            this.output = output;
+            this.charBudget = charBudget;
+        }
+
+        List<String> getPages() {
+            padTo(getEndPage() - getStartPage() + 1);
+            return pages;
+        }
+
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            super.startPage(page);
+            pageStart = output.getBuffer().length();
+        }
+
+        @Override
+        protected void endPage(PDPage page) throws IOException {
+            super.endPage(page);
+            padTo(getCurrentPageNo() - getStartPage());
+            pages.add(output.getBuffer().substring(pageStart));
+            if (output.getBuffer().length() >= charBudget) {
+                setEndPage(getCurrentPageNo());
+            }
+        }
+
+        private void padTo(int pageCount) {
+            while (pages.size() < pageCount) {
+                pages.add("");
+            }
+        }
+    }
+
+    /**
+     * Open a spooled PDF with a bounded main-memory budget. PDFBox reads the file on demand
+     * and keeps parsed streams beyond the budget in scratch files.
+     */
+    private PDDocument load(Path pdf) throws IOException {
+        MemoryUsageSetting memory = MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
+        if (tempDir != null && !tempDir.isBlank()) {
+            memory.setTempDir(new File(tempDir));
+        }
+
+        PDDocument document = PDDocument.load(pdf.toFile(), memory);
+        document.setResourceCache(new TextOnlyResourceCache());
+        return document;
+    }
+
+    /**
+     * Resource cache that never retains XObjects. Text extraction does not decode images,
+     * so caching decoded image objects across pages only grows the heap.
+     */
+    private static class TextOnlyResourceCache extends DefaultResourceCache {
+        @Override
+        public void put(COSObject indirect, PDXObject xobject) {
+            // Intentionally not cached
         }
     }
 
@@ -1,47 +1,114 @@
 package com.shabin.aistudysummarizer.service;
 
+import com.shabin.aistudysummarizer.util.BoilerplateStripper;
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
+import com.shabin.aistudysummarizer.util.TempFileUtil;
+import com.shabin.aistudysummarizer.util.XmlUtil;
+import com.shabin.aistudysummarizer.util.ZipBombGuardInputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.xslf.usermodel.XSLFShape;
-import org.apache.poi.xslf.usermodel.XSLFSlide;
-import org.apache.poi.xslf.usermodel.XSLFTextShape;
-import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
+/**
+ * Extracts text from PPTX files by streaming each slide part (and optionally its notes part)
+ * through a SAX parser. Slides are parsed concurrently and assembled in presentation order.
+ * All DrawingML text is collected, so grouped shapes and tables are included.
+ * Slides after the point where the text sink's limit is reached are not parsed.
+ * Parts are read through the same zip bomb limits POI applies when it opens a package.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PptxService {
 
-    public String extractText(MultipartFile file) {
+    private static final String PRESENTATION_PART = "ppt/presentation.xml";
+    private static final String PRESENTATION_RELS = "ppt/_rels/presentation.xml.rels";
+    private static final String PML_NS = "http://schemas.openxmlformats.org/presentationml/2006/main";
+    private static final String DML_NS = "http://schemas.openxmlformats.org/drawingml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PKG_REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String NOTES_REL_TYPE_SUFFIX = "/notesSlide";
+
+    // Placeholders that repeat on every slide or only echo the slide itself
+    private static final Set<String> SKIPPED_PLACEHOLDERS = Set.of("sldNum", "dt", "ftr", "hdr", "sldImg");
+
+    @Qualifier("documentParsingExecutor")
+    private final ThreadPoolTaskExecutor parsingExecutor;
+
+    @Value("${extraction.pptx.include-notes:true}")
+    private boolean includeNotes;
+
+    @Value("${extraction.temp-dir:}")
+    private String tempDir;
+
+    /**
+     * Text of one slide and its speaker notes
+     */
+    record SlideText(String body, String notes) {
+    }
+
+    public String extractText(MultipartFile file, BoundedTextSink sink) {
+        Path spooled = null;
         try {
-            XMLSlideShow presentation = new XMLSlideShow(file.getInputStream());
-            StringBuilder textBuilder = new StringBuilder();
+            // ZipFile needs random access to read slide parts independently and concurrently
+            spooled = TempFileUtil.spool(file, ".pptx", tempDir);
+            List<SlideText> slides;
+            int slideCount;
+            try (ZipFile zip = new ZipFile(spooled.toFile())) {
+                List<String> slideParts = slidePartsInOrder(zip);
+                slideCount = slideParts.size();
+                slides = extractSlides(zip, slideParts, sink.getLimit());
+            }
+
+            List<String> bodies = slides.stream().map(SlideText::body).toList();
+
+            // Drop footers, slide numbers and copyright lines repeated on every slide
+            BoilerplateStripper.Result stripped = BoilerplateStripper.strip(bodies);
+            log.info("Stripped {} boilerplate characters from {} slides: {}",
+                    stripped.totalRemoved(), bodies.size(), stripped.removedByStage());
 
-            List<XSLFSlide> slides = presentation.getSlides();
             for (int slideNum = 0; slideNum < slides.size(); slideNum++) {
-                XSLFSlide slide = slides.get(slideNum);
-                textBuilder.append("--- Slide ").append(slideNum + 1).append(" ---\n");
-
-                for (XSLFShape shape : slide.getShapes()) {
-                    if (shape instanceof XSLFTextShape) {
-                        XSLFTextShape textShape = (XSLFTextShape) shape;
-                        String text = textShape.getText();
-                        if (text != null && !text.isEmpty()) {
-                            textBuilder.append(text).append("\n");
-                        }
-                    }
+                StringBuilder slideBuilder = new StringBuilder();
+                slideBuilder.append("--- Slide ").append(slideNum + 1).append(" ---\n");
+                String slideText = stripped.pages().get(slideNum).trim();
+                if (!slideText.isEmpty()) {
+                    slideBuilder.append(slideText).append("\n");
+                }
+                String notes = slides.get(slideNum).notes().trim();
+                if (!notes.isEmpty()) {
+                    slideBuilder.append("Speaker notes:\n").append(notes).append("\n");
+                }
+                slideBuilder.append("\n");
+                if (!sink.append(slideBuilder)) {
+                    break;
                 }
-                textBuilder.append("\n");
+            }
+            if (slides.size() < slideCount) {
+                log.info("PPTX text reached the {} character limit, skipped {} of {} slides",
+                        sink.getLimit(), slideCount - slides.size(), slideCount);
+                sink.markTruncated();
             }
 
-            presentation.close();
-
-            String extractedText = textBuilder.toString().trim();
+            String extractedText = sink.toString().trim();
             if (extractedText.isEmpty()) {
                 throw new RuntimeException("No text could be extracted from the PPTX file");
             }
@@ -53,6 +120,234 @@ public class PptxService {
         } catch (Exception e) {
             log.error("Unexpected error processing PPTX file: {}", e.getMessage());
             throw new RuntimeException("Failed to process PPTX file: " + e.getMessage());
+        } finally {
+            TempFileUtil.deleteQuietly(spooled);
+        }
+    }
+
+    /**
+     * Parse slides concurrently and collect them in order until their text reaches the budget.
+     * Slides past that point are cancelled; queued ones never start.
+     * @return Leading slides whose combined text covers the budget, or all slides
+     */
+    List<SlideText> extractSlides(ZipFile zip, List<String> slideParts, int charBudget) throws Exception {
+        List<Future<SlideText>> futures = new ArrayList<>(slideParts.size());
+        for (String slidePart : slideParts) {
+            futures.add(parsingExecutor.submit(() -> extractSlide(zip, slidePart)));
+        }
+
+        List<SlideText> slides = new ArrayList<>(futures.size());
+        int chars = 0;
+        try {
+            for (Future<SlideText> future : futures) {
+                if (chars >= charBudget) {
+                    futures.forEach(pending -> pending.cancel(true));
+                    break;
+                }
+                SlideText slide = future.get();
+                slides.add(slide);
+                chars += slide.body().length() + slide.notes().length();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("PPTX extraction was interrupted");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        return slides;
+    }
+
+    // Private helper methods
+
+    private SlideText extractSlide(ZipFile zip, String slidePart) throws Exception {
+        String body = parseText(zip, slidePart);
+        String notes = "";
+        if (includeNotes) {
+            String notesPart = relatedPart(zip, slidePart, NOTES_REL_TYPE_SUFFIX);
+            if (notesPart != null) {
+                notes = parseText(zip, notesPart);
+            }
+        }
+        return new SlideText(body, notes);
+    }
+
+    /**
+     * Resolve slide part names in presentation order from p:sldIdLst and the presentation relationships
+     */
+    private List<String> slidePartsInOrder(ZipFile zip) throws Exception {
+        Map<String, String> targets = relationshipTargets(zip, PRESENTATION_RELS, "ppt/");
+
+        List<String> relationshipIds = new ArrayList<>();
+        parse(zip, PRESENTATION_PART, new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                if (PML_NS.equals(uri) && "sldId".equals(localName)) {
+                    relationshipIds.add(attributes.getValue(REL_NS, "id"));
+                }
+            }
+        });
+
+        List<String> parts = new ArrayList<>(relationshipIds.size());
+        for (String id : relationshipIds) {
+            String target = targets.get(id);
+            if (target != null && zip.getEntry(target) != null) {
+                parts.add(target);
+            }
+        }
+        return parts;
+    }
+
+    private String relatedPart(ZipFile zip, String part, String typeSuffix) throws Exception {
+        int slash = part.lastIndexOf('/');
+        String directory = part.substring(0, slash + 1);
+        String relsPart = directory + "_rels/" + part.substring(slash + 1) + ".rels";
+        if (zip.getEntry(relsPart) == null) {
+            return null;
+        }
+
+        String[] found = new String[1];
+        parse(zip, relsPart, new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                String type = attributes.getValue("Type");
+                if (PKG_REL_NS.equals(uri) && "Relationship".equals(localName)
+                        && type != null && type.endsWith(typeSuffix)) {
+                    found[0] = resolve(directory, attributes.getValue("Target"));
+                }
+            }
+        });
+        return found[0] != null && zip.getEntry(found[0]) != null ? found[0] : null;
+    }
+
+    private Map<String, String> relationshipTargets(ZipFile zip, String relsPart, String baseDirectory) throws Exception {
+        Map<String, String> targets = new HashMap<>();
+        parse(zip, relsPart, new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                if (PKG_REL_NS.equals(uri) && "Relationship".equals(localName)) {
+                    targets.put(attributes.getValue("Id"), resolve(baseDirectory, attributes.getValue("Target")));
+                }
+            }
+        });
+        return targets;
+    }
+
+    private String resolve(String directory, String target) {
+        if (target.startsWith("/")) {
+            return target.substring(1);
+        }
+        List<String> segments = new ArrayList<>(List.of(directory.split("/")));
+        for (String segment : target.split("/")) {
+            if ("..".equals(segment)) {
+                if (!segments.isEmpty()) {
+                    segments.remove(segments.size() - 1);
+                }
+            } else if (!segment.isEmpty() && !".".equals(segment)) {
+                segments.add(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private String parseText(ZipFile zip, String part) throws Exception {
+        DrawingTextHandler handler = new DrawingTextHandler();
+        parse(zip, part, handler);
+        return handler.text.toString();
+    }
+
+    private void parse(ZipFile zip, String part, DefaultHandler handler) throws Exception {
+        ZipEntry entry = zip.getEntry(part);
+        if (entry == null) {
+            throw new IOException("Missing part " + part);
+        }
+        try (InputStream in = ZipBombGuardInputStream.open(zip, entry)) {
+            XmlUtil.newSaxParser().parse(in, handler);
+        }
+    }
+
+    /**
+     * Collects DrawingML paragraph text (a:t) from every shape, including grouped shapes and
+     * table cells, and skips placeholders such as slide numbers and footers. Inside table cells
+     * paragraphs are joined with spaces, cells with " | " and rows with newlines.
+     */
+    private static class DrawingTextHandler extends DefaultHandler {
+
+        private final StringBuilder text = new StringBuilder();
+        private int shapeDepth;
+        private int skippedShapeDepth = -1;
+        private int tableDepth;
+        private boolean inText;
+        private boolean cellHasText;
+        private boolean pendingSpace;  // Paragraph or line break inside a table cell
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (PML_NS.equals(uri)) {
+                if ("sp".equals(localName)) {
+                    shapeDepth++;
+                } else if ("ph".equals(localName) && !skipping()
+                        && SKIPPED_PLACEHOLDERS.contains(attributes.getValue("type"))) {
+                    skippedShapeDepth = shapeDepth;
+                }
+            } else if (DML_NS.equals(uri) && !skipping()) {
+                switch (localName) {
+                    case "t" -> inText = true;
+                    case "br" -> lineBreak();
+                    case "tbl" -> tableDepth++;
+                    case "tc" -> {
+                        cellHasText = false;
+                        pendingSpace = false;
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (PML_NS.equals(uri) && "sp".equals(localName)) {
+                if (skippedShapeDepth == shapeDepth) {
+                    skippedShapeDepth = -1;
+                }
+                shapeDepth--;
+            } else if (DML_NS.equals(uri) && !skipping()) {
+                switch (localName) {
+                    case "t" -> inText = false;
+                    case "p" -> lineBreak();
+                    case "tc" -> text.append(" | ");
+                    case "tr" -> text.append('\n');
+                    case "tbl" -> tableDepth--;
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText && !skipping()) {
+                if (pendingSpace) {
+                    pendingSpace = false;
+                    text.append(' ');
+                }
+                cellHasText = true;
+                text.append(ch, start, length);
+            }
+        }
+
+        private void lineBreak() {
+            if (tableDepth == 0) {
+                text.append('\n');
+            } else {
+                pendingSpace = cellHasText;
+            }
+        }
+
+        private boolean skipping() {
+            return skippedShapeDepth >= 0;
         }
     }
 }
@@ -0,0 +1,136 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.blob.BlobStore;
+import com.shabin.aistudysummarizer.dto.document.ReextractionStatus;
+import com.shabin.aistudysummarizer.entity.DocumentContent;
+import com.shabin.aistudysummarizer.entity.SourceType;
+import com.shabin.aistudysummarizer.repository.DocumentContentRepository;
+import com.shabin.aistudysummarizer.repository.DocumentRepository;
+import com.shabin.aistudysummarizer.repository.DocumentRepository.ReextractionCandidate;
+import com.shabin.aistudysummarizer.util.BufferMultipartFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts stored originals again, so documents benefit from improved extractors without being
+ * uploaded again. Runs as a single background job that walks contents in id order in batches;
+ * each original is memory-mapped from the blob store rather than read onto the heap.
+ * Extraction runs on the job's own thread, so the upload extraction queue is left to uploads.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReextractionService {
+
+    private final DocumentRepository documentRepository;
+    private final DocumentContentRepository documentContentRepository;
+    private final BlobStore blobStore;
+    private final ExtractionService extractionService;
+
+    @Qualifier("taskExecutor")
+    private final Executor taskExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile SourceType sourceType;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    @Value("${reextraction.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * Start extracting stored originals again in the background. Does nothing if a run is
+     * already in progress.
+     * @param sourceType Only documents of this type, or all when null
+     * @return Status of the run that is now in progress
+     */
+    public ReextractionStatus start(SourceType sourceType) {
+        if (running.compareAndSet(false, true)) {
+            this.sourceType = sourceType;
+            processed.set(0);
+            failed.set(0);
+            startedAt = LocalDateTime.now();
+            finishedAt = null;
+            try {
+                taskExecutor.execute(() -> run(sourceType));
+            } catch (RuntimeException e) {
+                running.set(false);
+                throw e;
+            }
+        }
+        return getStatus();
+    }
+
+    public ReextractionStatus getStatus() {
+        return ReextractionStatus.builder()
+                .running(running.get())
+                .sourceType(sourceType)
+                .processed(processed.get())
+                .failed(failed.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+
+    // Private helper methods
+
+    private void run(SourceType sourceType) {
+        log.info("Re-extraction of stored originals started (source type: {})",
+                sourceType == null ? "all" : sourceType);
+        try {
+            UUID after = new UUID(0, 0);
+            List<ReextractionCandidate> batch;
+            do {
+                batch = documentRepository.findReextractionCandidates(after, sourceType, Limit.of(batchSize));
+                for (ReextractionCandidate candidate : batch) {
+                    // Documents sharing a content are adjacent; extract each content once
+                    if (candidate.getContentId().equals(after)) {
+                        continue;
+                    }
+                    after = candidate.getContentId();
+                    reextract(candidate);
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Re-extraction stopped: {}", e.getMessage(), e);
+        } finally {
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+            log.info("Re-extraction finished: {} contents extracted again, {} failed",
+                    processed.get(), failed.get());
+        }
+    }
+
+    private void reextract(ReextractionCandidate candidate) {
+        try {
+            BufferMultipartFile file = new BufferMultipartFile(
+                    blobStore.read(candidate.getBlobHash()), candidate.getOriginalFilename());
+            ExtractionService.Result result = extractionService.extract(file, candidate.getSourceType());
+
+            DocumentContent content = documentContentRepository.findById(candidate.getContentId()).orElseThrow();
+            content.setExtractedText(result.text());
+            content.setTextTruncated(result.truncated());
+            content.setExtractionMillis(result.extractionMillis());
+            documentContentRepository.save(content);
+            documentRepository.updateTextTruncatedByContentId(content.getId(), result.truncated());
+            processed.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("Failed to re-extract content {} from blob {}: {}",
+                    candidate.getContentId(), candidate.getBlobHash(), e.getMessage());
+        }
+    }
+}
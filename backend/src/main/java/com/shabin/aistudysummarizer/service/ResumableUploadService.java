@@ -0,0 +1,287 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.dto.document.DocumentUploadResponse;
+import com.shabin.aistudysummarizer.dto.document.UploadSessionRequest;
+import com.shabin.aistudysummarizer.dto.document.UploadSessionResponse;
+import com.shabin.aistudysummarizer.exception.EntityNotFoundException;
+import com.shabin.aistudysummarizer.exception.UploadLimitException;
+import com.shabin.aistudysummarizer.exception.UploadOffsetException;
+import com.shabin.aistudysummarizer.exception.UploadSessionBusyException;
+import com.shabin.aistudysummarizer.exception.ValidationException;
+import com.shabin.aistudysummarizer.upload.ContentRange;
+import com.shabin.aistudysummarizer.upload.UploadSession;
+import com.shabin.aistudysummarizer.util.PathMultipartFile;
+import com.shabin.aistudysummarizer.util.SecurityUtil;
+import com.shabin.aistudysummarizer.util.TempFileUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads: a session is created with the file's name and size, byte ranges are
+ * appended to a temp file as they arrive, and the document is extracted once all bytes are in.
+ * A dropped connection only loses the bytes of the interrupted range; the client asks for the
+ * session and continues from the received offset. Expired sessions are swept up on a schedule.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumableUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DocumentService documentService;
+    private final DocumentValidationService validationService;
+
+    private final Map<UUID, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @Value("${upload.session-ttl-seconds:86400}")  // Idle sessions and their bytes are discarded after this
+    private long sessionTtlSeconds;
+
+    @Value("${upload.max-sessions-per-user:5}")
+    private int maxSessionsPerUser;
+
+    @Value("${upload.max-reserved-bytes-per-user:262144000}")  // 250MB of declared file sizes across a user's sessions
+    private long maxReservedBytesPerUser;
+
+    @Value("${extraction.temp-dir:}")
+    private String tempDir;
+
+    /**
+     * Start a resumable upload for the current user
+     * @throws UploadLimitException if the user already has too many uploads, or too many bytes, in progress
+     */
+    public UploadSessionResponse createSession(UploadSessionRequest request) {
+        validationService.validateUpload(request.getFilename(), request.getSize());
+        validationService.validateTitle(request.getTitle());
+
+        String ownerEmail = SecurityUtil.getCurrentUserEmail();
+        String filename = request.getFilename();
+        int dot = filename.lastIndexOf('.');
+        UploadSession session;
+        // Checking the limits and adding the session is one step, so parallel requests cannot both pass
+        synchronized (sessions) {
+            checkLimits(ownerEmail, request.getSize());
+            try {
+                session = new UploadSession(UUID.randomUUID(), ownerEmail, filename, request.getTitle(),
+                        request.getSize(), TempFileUtil.createTempFile(dot > 0 ? filename.substring(dot) : ".tmp", tempDir));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to start upload: " + e.getMessage());
+            }
+            sessions.put(session.getId(), session);
+        }
+
+        log.info("Upload session {} started for {} ({} bytes)", session.getId(), filename, request.getSize());
+        return mapToResponse(session);
+    }
+
+    public UploadSessionResponse getSession(UUID uploadId) {
+        return mapToResponse(findSession(uploadId));
+    }
+
+    /**
+     * Write a byte range of the file. The range may resend bytes already received but must not
+     * leave a gap. If the body ends early, the bytes that did arrive are kept.
+     * @param range Position and length of the bytes, and the file size if the client gave it
+     * @param body Request body, streamed straight into the temp file
+     * @throws UploadOffsetException if the range starts after the received bytes
+     * @throws UploadSessionBusyException if another request is still working on the upload
+     */
+    public UploadSessionResponse appendChunk(UUID uploadId, ContentRange range, InputStream body) {
+        UploadSession session = findSession(uploadId);
+        long offset = range.offset();
+        long length = range.length();
+        lock(session);
+        try {
+            ensureOpen(session);
+            if (range.total() != null && range.total() != session.getSize()) {
+                throw new ValidationException(String.format(
+                        "Content-Range gives a file size of %d bytes but the upload declared %d bytes",
+                        range.total(), session.getSize()));
+            }
+            if (offset > session.getReceivedBytes()) {
+                throw new UploadOffsetException(offset, session.getReceivedBytes());
+            }
+            if (offset < 0 || length < 0 || offset + length > session.getSize()) {
+                throw new ValidationException("Byte range exceeds the declared file size of "
+                        + session.getSize() + " bytes");
+            }
+
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(session.getPath(), StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(body);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                // Count only bytes that reached the file, so a dropped connection keeps what arrived
+                while (written < length) {
+                    buffer.clear().limit((int) Math.min(BUFFER_SIZE, length - written));
+                    if (source.read(buffer) < 0) {
+                        break;  // Body ended before the declared length
+                    }
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        written += channel.write(buffer, offset + written);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Upload {} interrupted at byte {}: {}", uploadId, offset + written, e.getMessage());
+            } finally {
+                session.advanceTo(offset + written);
+            }
+        } finally {
+            session.getLock().unlock();
+        }
+        return mapToResponse(session);
+    }
+
+    /**
+     * Extract and store the uploaded file once every byte has arrived
+     * @throws ValidationException if bytes are still missing
+     * @throws com.shabin.aistudysummarizer.exception.ServiceBusyException if the extraction queue
+     *         is full; the session is kept so completion can be retried
+     * @throws UploadSessionBusyException if a chunk is still being written
+     */
+    public CompletableFuture<DocumentUploadResponse> complete(UUID uploadId) {
+        UploadSession session = findSession(uploadId);
+        lock(session);
+        try {
+            ensureOpen(session);
+            if (!session.isComplete()) {
+                throw new ValidationException(String.format("Upload is incomplete: %d of %d bytes received",
+                        session.getReceivedBytes(), session.getSize()));
+            }
+            PathMultipartFile file;
+            try {
+                file = new PathMultipartFile(session.getPath(), session.getFilename());
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read upload: " + e.getMessage());
+            }
+            validationService.validateFile(file);
+
+            CompletableFuture<DocumentUploadResponse> upload =
+                    documentService.uploadDocument(file, session.getTitle(), null);
+            session.close();
+            return upload.whenComplete((response, error) -> discard(session));
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    /**
+     * Abandon an upload and delete its bytes
+     * @throws UploadSessionBusyException if a chunk is still being written
+     */
+    public void cancel(UUID uploadId) {
+        UploadSession session = findSession(uploadId);
+        lock(session);
+        try {
+            ensureOpen(session);
+            session.close();
+            discard(session);
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    /**
+     * Discard sessions idle for longer than the TTL, with their bytes. Sessions busy with a
+     * request are skipped; they are not idle.
+     */
+    @Scheduled(fixedDelayString = "${upload.cleanup-interval-ms:300000}")
+    public void removeExpiredSessions() {
+        Instant cutoff = Instant.now().minusSeconds(sessionTtlSeconds);
+        for (UploadSession session : sessions.values()) {
+            if (!session.getLock().tryLock()) {
+                continue;
+            }
+            try {
+                if (!session.isClosed() && session.getLastActivity().isBefore(cutoff)) {
+                    log.info("Upload session {} expired with {} of {} bytes", session.getId(),
+                            session.getReceivedBytes(), session.getSize());
+                    session.close();
+                    discard(session);
+                }
+            } finally {
+                session.getLock().unlock();
+            }
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Find a session of the current user; other users' sessions are reported as not found
+     */
+    private UploadSession findSession(UUID uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.getOwnerEmail().equals(SecurityUtil.getCurrentUserEmail())) {
+            throw new EntityNotFoundException("Upload session", uploadId.toString());
+        }
+        return session;
+    }
+
+    /**
+     * Take the session's lock without waiting, so no request queues up behind a slow chunk
+     */
+    private void lock(UploadSession session) {
+        if (!session.getLock().tryLock()) {
+            throw new UploadSessionBusyException(session.getId().toString());
+        }
+    }
+
+    private void checkLimits(String ownerEmail, long size) {
+        int count = 0;
+        long reservedBytes = size;
+        for (UploadSession session : sessions.values()) {
+            if (session.getOwnerEmail().equals(ownerEmail)) {
+                count++;
+                reservedBytes += session.getSize();
+            }
+        }
+        if (count >= maxSessionsPerUser) {
+            throw UploadLimitException.tooManySessions(maxSessionsPerUser);
+        }
+        if (reservedBytes > maxReservedBytesPerUser) {
+            throw UploadLimitException.tooManyBytes(maxReservedBytesPerUser);
+        }
+    }
+
+    private void ensureOpen(UploadSession session) {
+        if (session.isClosed()) {
+            throw new EntityNotFoundException("Upload session", session.getId().toString());
+        }
+    }
+
+    private void discard(UploadSession session) {
+        sessions.remove(session.getId());
+        TempFileUtil.deleteQuietly(session.getPath());
+    }
+
+    private UploadSessionResponse mapToResponse(UploadSession session) {
+        return UploadSessionResponse.builder()
+                .uploadId(session.getId())
+                .filename(session.getFilename())
+                .size(session.getSize())
+                .receivedBytes(session.getReceivedBytes())
+                .expiresAt(LocalDateTime.ofInstant(
+                        session.getLastActivity().plus(Duration.ofSeconds(sessionTtlSeconds)), ZoneId.systemDefault()))
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.dto.search.SearchResult;
+import com.shabin.aistudysummarizer.exception.ValidationException;
+import com.shabin.aistudysummarizer.repository.DocumentRepository;
+import com.shabin.aistudysummarizer.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Full-text search over the current user's documents and summaries.
+ * Matching and ranking run in the database against indexed search vectors.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final DocumentRepository documentRepository;
+
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * @param query Web-style query: words, "quoted phrases", OR, and -excluded words
+     */
+    public Slice<SearchResult> search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query must not be empty");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new ValidationException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new ValidationException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        String email = SecurityUtil.getCurrentUserEmail();
+        log.debug("Searching for '{}' for user {}, page {}", query, email, page);
+
+        return documentRepository.search(email, query.strip(), PageRequest.of(page, size))
+                .map(hit -> SearchResult.builder()
+                        .type(SearchResult.Type.valueOf(hit.getType()))
+                        .documentId(hit.getDocumentId())
+                        .summaryId(hit.getSummaryId())
+                        .title(hit.getTitle())
+                        .rank(hit.getRank())
+                        .build());
+    }
+}
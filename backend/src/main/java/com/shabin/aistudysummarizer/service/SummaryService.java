@@ -1,6 +1,10 @@
 package com.shabin.aistudysummarizer.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shabin.aistudysummarizer.dto.CursorPage;
+import com.shabin.aistudysummarizer.dto.summary.SummaryContent;
+import com.shabin.aistudysummarizer.dto.summary.SummaryItemsResponse;
+import com.shabin.aistudysummarizer.dto.summary.SummaryListResponse;
 import com.shabin.aistudysummarizer.dto.summary.SummaryRequestDTO;
 import com.shabin.aistudysummarizer.dto.summary.SummaryResponse;
 import com.shabin.aistudysummarizer.entity.Document;
@@ -8,6 +12,7 @@ import com.shabin.aistudysummarizer.entity.Summary;
 import com.shabin.aistudysummarizer.exception.*;
 import com.shabin.aistudysummarizer.repository.DocumentRepository;
 import com.shabin.aistudysummarizer.repository.SummaryRepository;
+import com.shabin.aistudysummarizer.util.KeysetCursor;
 import com.shabin.aistudysummarizer.util.RetryUtil;
 import com.shabin.aistudysummarizer.util.SecurityUtil;
 import com.shabin.aistudysummarizer.util.TextChunkingUtil;
@@ -18,12 +23,14 @@ import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.UUID;
 
@@ -38,6 +45,11 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class SummaryService implements ISummaryService {
 
+    // Summaries are cached per owner; a key of the id alone would serve a cached summary to any
+    // user who knows its id, without the ownership check of the query
+    private static final String OWNER_SCOPED_KEY =
+            "T(com.shabin.aistudysummarizer.util.SecurityUtil).getCurrentUserEmail() + ':' + #p0";
+
     private final SummaryRepository summaryRepository;
     private final DocumentRepository documentRepository;
     private final GeminiService geminiService;
@@ -46,6 +58,9 @@ public class SummaryService implements ISummaryService {
     @Value("${gemini.api.model:gemini-2.5-flash}")
     private String modelName;
 
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
     /**
      * Generate summary synchronously - for direct API calls
      */
@@ -98,37 +113,62 @@ public class SummaryService implements ISummaryService {
     }
 
     /**
-     * Get user's summaries with pagination
+     * Get user's summaries with pagination.
+     * Not cached: the projection query is cheap, and the cache was keyed by page alone, not by user.
      */
     @Override
-    @Cacheable(value = "userSummaries", key = "#pageable")
-    public Page<SummaryResponse> getUserSummaries(Pageable pageable) {
+    public Page<SummaryListResponse> getUserSummaries(Pageable pageable) {
         String email = SecurityUtil.getCurrentUserEmail();
         log.debug("Fetching summaries for user {}, page {}, size {}",
                 email, pageable.getPageNumber(), pageable.getPageSize());
 
-        return summaryRepository.findByUserEmail(email, pageable)
-                .map(this::mapToResponse);
+        return summaryRepository.findListByUserEmail(email, pageable);
+    }
+
+    /**
+     * Get a slice of the user's summaries by keyset, so deep slices cost the same as the first one
+     */
+    @Override
+    public CursorPage<SummaryListResponse> getUserSummaries(String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > maxPageSize) {
+            throw new ValidationException("Page size must be between 1 and " + maxPageSize);
+        }
+        String email = SecurityUtil.getCurrentUserEmail();
+
+        // Fetch one extra row to learn whether another slice follows
+        Limit limit = Limit.of(size + 1);
+        List<SummaryListResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = summaryRepository.findListByUserEmail(email, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = summaryRepository.findListByUserEmailBefore(email, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<SummaryListResponse> content = hasNext ? rows.subList(0, size) : rows;
+        SummaryListResponse last = hasNext ? content.get(size - 1) : null;
+
+        return CursorPage.<SummaryListResponse>builder()
+                .content(content)
+                .hasNext(hasNext)
+                .nextCursor(last != null ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .totalElements(includeTotal ? summaryRepository.countByUserEmail(email) : null)
+                .build();
     }
 
     /**
      * Get specific summary by ID
      */
     @Override
-    @Cacheable(value = "summaryById", key = "#id")
+    @Cacheable(value = "summaryById", key = OWNER_SCOPED_KEY)
     public SummaryResponse getSummaryById(UUID id) {
         String email = SecurityUtil.getCurrentUserEmail();
         log.debug("Fetching summary {} for user {}", id, email);
 
-        Summary summary = summaryRepository.findById(id)
+        Summary summary = summaryRepository.findWithDocumentByIdAndUserEmail(id, email)
                 .orElseThrow(() -> new EntityNotFoundException("Summary", id.toString()));
 
-        // Verify ownership
-        if (!summary.getUser().getEmail().equals(email)) {
-            log.warn("Unauthorized access attempt to summary {} by user {}", id, email);
-            throw UnauthorizedException.accessDenied();
-        }
-
         return mapToResponse(summary);
     }
 
@@ -137,37 +177,23 @@ public class SummaryService implements ISummaryService {
      */
     @Override
     @Transactional
-    @CacheEvict(value = "summaryById", key = "#summaryId")
-    public SummaryResponse generateMoreMcqs(UUID summaryId) {
+    @CacheEvict(value = "summaryById", key = OWNER_SCOPED_KEY)
+    public SummaryItemsResponse<SummaryContent.Mcq> generateMoreMcqs(UUID summaryId) {
         String email = SecurityUtil.getCurrentUserEmail();
         log.info("Generating more MCQs for summary {} by user {}", summaryId, email);
 
-        Summary summary = retrieveSummary(summaryId, email);
-        String extractedText = validateAndPrepareText(summary.getDocument());
+        String extractedText = validateAndPrepareText(retrieveSummaryDocument(summaryId, email));
 
         try {
             String newMcqsJson = RetryUtil.executeWithRetry(
                     () -> geminiService.generateMoreMcqs(extractedText),
                     "MCQ Generation");
 
-            JSONObject summaryJson = new JSONObject(summary.getSummaryJson());
-            JSONArray existingMcqs = summaryJson.optJSONArray("mcqs");
-            JSONArray newMcqs = new JSONArray(newMcqsJson);
-
-            // Append new MCQs
-            if (existingMcqs != null) {
-                for (int i = 0; i < newMcqs.length(); i++) {
-                    existingMcqs.put(newMcqs.get(i));
-                }
-            } else {
-                summaryJson.put("mcqs", newMcqs);
-            }
+            SummaryItemsResponse<SummaryContent.Mcq> response =
+                    appendItems(summaryId, email, "mcqs", newMcqsJson, SummaryContent.Mcq.class);
 
-            summary.setSummaryJson(summaryJson.toString());
-            summaryRepository.save(summary);
-
-            log.info("Added MCQs to summary {}", summaryId);
-            return mapToResponse(summary);
+            log.info("Added {} MCQs to summary {}", response.getAdded().size(), summaryId);
+            return response;
         } catch (SummaryGenerationException e) {
             throw e;
         } catch (Exception e) {
@@ -181,37 +207,23 @@ public class SummaryService implements ISummaryService {
      */
     @Override
     @Transactional
-    @CacheEvict(value = "summaryById", key = "#summaryId")
-    public SummaryResponse generateMoreFlashcards(UUID summaryId) {
+    @CacheEvict(value = "summaryById", key = OWNER_SCOPED_KEY)
+    public SummaryItemsResponse<SummaryContent.Flashcard> generateMoreFlashcards(UUID summaryId) {
         String email = SecurityUtil.getCurrentUserEmail();
         log.info("Generating more flashcards for summary {} by user {}", summaryId, email);
 
-        Summary summary = retrieveSummary(summaryId, email);
-        String extractedText = validateAndPrepareText(summary.getDocument());
+        String extractedText = validateAndPrepareText(retrieveSummaryDocument(summaryId, email));
 
         try {
             String newFlashcardsJson = RetryUtil.executeWithRetry(
                     () -> geminiService.generateMoreFlashcards(extractedText),
                     "Flashcard Generation");
 
-            JSONObject summaryJson = new JSONObject(summary.getSummaryJson());
-            JSONArray existingFlashcards = summaryJson.optJSONArray("flashcards");
-            JSONArray newFlashcards = new JSONArray(newFlashcardsJson);
-
-            // Append new flashcards
-            if (existingFlashcards != null) {
-                for (int i = 0; i < newFlashcards.length(); i++) {
-                    existingFlashcards.put(newFlashcards.get(i));
-                }
-            } else {
-                summaryJson.put("flashcards", newFlashcards);
-            }
-
-            summary.setSummaryJson(summaryJson.toString());
-            summaryRepository.save(summary);
+            SummaryItemsResponse<SummaryContent.Flashcard> response =
+                    appendItems(summaryId, email, "flashcards", newFlashcardsJson, SummaryContent.Flashcard.class);
 
-            log.info("Added flashcards to summary {}", summaryId);
-            return mapToResponse(summary);
+            log.info("Added {} flashcards to summary {}", response.getAdded().size(), summaryId);
+            return response;
         } catch (SummaryGenerationException e) {
             throw e;
         } catch (Exception e) {
@@ -225,7 +237,7 @@ public class SummaryService implements ISummaryService {
      */
     @Override
     @Transactional
-    @CacheEvict(value = "summaryById", key = "#summaryId")
+    @CacheEvict(value = "summaryById", key = OWNER_SCOPED_KEY)
     public SummaryResponse generateMoreSummary(UUID summaryId) {
         String email = SecurityUtil.getCurrentUserEmail();
         log.info("Generating more summary content for {} by user {}", summaryId, email);
@@ -263,13 +275,14 @@ public class SummaryService implements ISummaryService {
      */
     @Override
     @Transactional
-    @CacheEvict(value = "summaryById", key = "#id")
+    @CacheEvict(value = "summaryById", key = OWNER_SCOPED_KEY)
     public void deleteSummary(UUID id) {
         String email = SecurityUtil.getCurrentUserEmail();
         log.info("Deleting summary {} by user {}", id, email);
 
-        Summary summary = retrieveSummary(id, email);
-        summaryRepository.delete(summary);
+        if (summaryRepository.deleteByIdAndUserEmail(id, email) == 0) {
+            throw new EntityNotFoundException("Summary", id.toString());
+        }
 
         log.info("Summary {} deleted", id);
     }
@@ -277,33 +290,50 @@ public class SummaryService implements ISummaryService {
     // ================== Private Helper Methods ==================
 
     /**
-     * Retrieve document with ownership validation
+     * Retrieve document with its owner and text. Ownership is part of the query, so documents of
+     * other users are reported as not found.
      */
     private Document retrieveDocument(UUID documentId, String email) {
-        Document document = documentRepository.findById(documentId)
+        return documentRepository.findWithUserAndContentByIdAndUserEmail(documentId, email)
                 .orElseThrow(() -> new EntityNotFoundException("Document", documentId.toString()));
+    }
 
-        if (!document.getUser().getEmail().equals(email)) {
-            log.warn("Unauthorized access to document {} by user {}", documentId, email);
-            throw UnauthorizedException.accessDenied();
-        }
+    /**
+     * Retrieve summary with its document and the document's text, filtered by owner in the same query
+     */
+    private Summary retrieveSummary(UUID summaryId, String email) {
+        return summaryRepository.findWithDocumentContentByIdAndUserEmail(summaryId, email)
+                .orElseThrow(() -> new EntityNotFoundException("Summary", summaryId.toString()));
+    }
 
-        return document;
+    /**
+     * Retrieve the document of a summary with ownership validation, without loading the summary itself
+     */
+    private Document retrieveSummaryDocument(UUID summaryId, String email) {
+        return summaryRepository.findDocumentByIdAndUserEmail(summaryId, email)
+                .orElseThrow(() -> new EntityNotFoundException("Summary", summaryId.toString()));
     }
 
     /**
-     * Retrieve summary with ownership validation
+     * Append generated items to one of the summary's JSON arrays in the database.
+     * Only the new items are written, and concurrent appends cannot overwrite each other.
      */
-    private Summary retrieveSummary(UUID summaryId, String email) {
-        Summary summary = summaryRepository.findById(summaryId)
+    private <T> SummaryItemsResponse<T> appendItems(UUID summaryId, String email, String key,
+                                                    String newItemsJson, Class<T> itemType) throws Exception {
+        String items = new JSONArray(newItemsJson).toString();
+
+        SummaryRepository.ItemCounts counts = summaryRepository.appendItems(summaryId, email, key, items)
                 .orElseThrow(() -> new EntityNotFoundException("Summary", summaryId.toString()));
 
-        if (!summary.getUser().getEmail().equals(email)) {
-            log.warn("Unauthorized access to summary {} by user {}", summaryId, email);
-            throw UnauthorizedException.accessDenied();
-        }
+        List<T> added = objectMapper.readValue(items,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, itemType));
 
-        return summary;
+        return SummaryItemsResponse.<T>builder()
+                .summaryId(summaryId)
+                .added(added)
+                .mcqCount(counts.getMcqCount())
+                .flashcardCount(counts.getFlashcardCount())
+                .build();
     }
 
     /**
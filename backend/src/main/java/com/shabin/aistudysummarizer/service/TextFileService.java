@@ -1,11 +1,15 @@
 package com.shabin.aistudysummarizer.service;
 
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 
 @Service
@@ -13,15 +17,30 @@ import java.nio.charset.StandardCharsets;
 @Slf4j
 public class TextFileService {
 
-    public String extractText(MultipartFile file) {
-        try {
-            String content = new String(file.getBytes(), StandardCharsets.UTF_8);
+    private static final int BUFFER_CHARS = 8192;
 
-            if (content.trim().isEmpty()) {
+    /**
+     * Read a text file into the sink, stopping at the sink's limit instead of loading the whole file
+     * @return The extracted text
+     */
+    public String extractText(MultipartFile file, BoundedTextSink sink) {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            CharBuffer buffer = CharBuffer.allocate(BUFFER_CHARS);
+            while (reader.read(buffer) != -1) {
+                buffer.flip();
+                if (!sink.append(buffer)) {
+                    log.info("Text file reached the {} character limit, stopped reading early", sink.getLimit());
+                    break;
+                }
+                buffer.clear();
+            }
+
+            String content = sink.toString().trim();
+            if (content.isEmpty()) {
                 throw new RuntimeException("The text file is empty");
             }
 
-            return content.trim();
+            return content;
         } catch (IOException e) {
             log.error("Error extracting text from text file: {}", e.getMessage());
             throw new RuntimeException("Failed to extract text from file: " + e.getMessage());
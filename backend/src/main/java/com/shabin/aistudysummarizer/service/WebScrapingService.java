@@ -1,6 +1,10 @@
 package com.shabin.aistudysummarizer.service;
 
+import com.shabin.aistudysummarizer.scraping.UrlContentCache;
+import com.shabin.aistudysummarizer.scraping.UrlContentCache.CachedPage;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -10,43 +14,56 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class WebScrapingService {
 
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    private final UrlContentCache urlContentCache;
+
     public String scrapeUrl(String url) {
+        CachedPage cached = urlContentCache.get(url);
+        if (cached != null && urlContentCache.isFresh(cached)) {
+            urlContentCache.record("hit");
+            return cached.text();
+        }
+
         try {
-            Document doc = Jsoup.connect(url)
+            Connection connection = Jsoup.connect(url)
                     .timeout(10000)
                     .userAgent(
-                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                    .get();
-
-            // Extract title
-            String title = doc.title();
+                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
 
-            // Remove scripts and styles
-            doc.select("script, style, nav, footer, header").remove();
-
-            // Get body text or specific article content
-            Element body = doc.body();
-            if (body == null) {
-                throw new RuntimeException("Could not find body element in the URL");
+            // Stale entry: ask the origin whether the page changed instead of downloading it again
+            boolean revalidating = cached != null && cached.hasValidators();
+            if (revalidating) {
+                if (cached.etag() != null) {
+                    connection.header("If-None-Match", cached.etag());
+                }
+                if (cached.lastModified() != null) {
+                    connection.header("If-Modified-Since", cached.lastModified());
+                }
             }
 
-            // Attempt to find main content areas if they exist (common in modern sites)
-            Elements mainContent = doc.select("article, main, .content, #content");
-            String content;
-            if (!mainContent.isEmpty()) {
-                content = mainContent.text();
-            } else {
-                content = body.text();
+            Connection.Response response = connection.execute();
+            if (revalidating && response.statusCode() == HTTP_NOT_MODIFIED) {
+                urlContentCache.put(url, cached.revalidated());
+                urlContentCache.record("revalidated");
+                return cached.text();
             }
 
-            if (content.isBlank()) {
-                throw new RuntimeException("No readable content found at URL");
-            }
+            String text = extractContent(response.parse());
+            urlContentCache.record(revalidating ? "changed" : "miss");
 
-            return cleanText(title + "\n\n" + content);
+            String cacheControl = response.header("Cache-Control");
+            if (cacheControl != null && cacheControl.contains("no-store")) {
+                urlContentCache.remove(url);
+            } else {
+                urlContentCache.put(url, new CachedPage(text, response.header("ETag"),
+                        response.header("Last-Modified"), System.currentTimeMillis()));
+            }
+            return text;
 
         } catch (IOException e) {
             log.error("Error scraping URL: {}", url, e);
@@ -54,6 +71,35 @@ public class WebScrapingService {
         }
     }
 
+    private String extractContent(Document doc) {
+        // Extract title
+        String title = doc.title();
+
+        // Remove scripts and styles
+        doc.select("script, style, nav, footer, header").remove();
+
+        // Get body text or specific article content
+        Element body = doc.body();
+        if (body == null) {
+            throw new RuntimeException("Could not find body element in the URL");
+        }
+
+        // Attempt to find main content areas if they exist (common in modern sites)
+        Elements mainContent = doc.select("article, main, .content, #content");
+        String content;
+        if (!mainContent.isEmpty()) {
+            content = mainContent.text();
+        } else {
+            content = body.text();
+        }
+
+        if (content.isBlank()) {
+            throw new RuntimeException("No readable content found at URL");
+        }
+
+        return cleanText(title + "\n\n" + content);
+    }
+
     private String cleanText(String text) {
         return text.replaceAll("\\s+", " ").trim();
     }
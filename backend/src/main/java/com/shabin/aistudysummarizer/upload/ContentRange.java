@@ -0,0 +1,39 @@
+package com.shabin.aistudysummarizer.upload;
+
+import com.shabin.aistudysummarizer.exception.ValidationException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Byte range of an upload chunk, from a "Content-Range: bytes first-last/total" header
+ * @param total Size of the whole file, or null when the header gives it as '*'
+ */
+public record ContentRange(long offset, long length, Long total) {
+
+    private static final Pattern BYTES_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+    /**
+     * @throws ValidationException if the header is missing or malformed
+     */
+    public static ContentRange parse(String header) {
+        if (header == null) {
+            throw new ValidationException("Content-Range header is required");
+        }
+        Matcher matcher = BYTES_RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            throw new ValidationException("Content-Range must look like 'bytes first-last/total'");
+        }
+        try {
+            long first = Long.parseLong(matcher.group(1));
+            long last = Long.parseLong(matcher.group(2));
+            if (last < first) {
+                throw new ValidationException("Content-Range ends before it starts");
+            }
+            Long total = matcher.group(3).equals("*") ? null : Long.parseLong(matcher.group(3));
+            return new ContentRange(first, last - first + 1, total);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Content-Range is out of range");
+        }
+    }
+}
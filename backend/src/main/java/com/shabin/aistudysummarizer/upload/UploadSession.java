@@ -0,0 +1,58 @@
+package com.shabin.aistudysummarizer.upload;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A resumable upload in progress: the temp file its bytes are appended to and how many have arrived.
+ * Chunk writes, completion and expiry hold the session's lock. Chunk writes hold it while the body
+ * streams in, so the others only try it and never wait behind a slow client.
+ */
+@Getter
+public class UploadSession {
+
+    private final UUID id;
+    private final String ownerEmail;
+    private final String filename;
+    private final String title;
+    private final long size;
+    private final Path path;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile long receivedBytes;
+    private volatile Instant lastActivity;
+    private volatile boolean closed;
+
+    public UploadSession(UUID id, String ownerEmail, String filename, String title, long size, Path path) {
+        this.id = id;
+        this.ownerEmail = ownerEmail;
+        this.filename = filename;
+        this.title = title;
+        this.size = size;
+        this.path = path;
+        this.lastActivity = Instant.now();
+    }
+
+    public boolean isComplete() {
+        return receivedBytes == size;
+    }
+
+    /**
+     * Record bytes stored up to the given end offset; a resent chunk never moves the offset back
+     */
+    public void advanceTo(long endOffset) {
+        receivedBytes = Math.max(receivedBytes, endOffset);
+        lastActivity = Instant.now();
+    }
+
+    /**
+     * Stop accepting chunks, once the upload is being processed or has expired
+     */
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,201 @@
+package com.shabin.aistudysummarizer.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Removes running headers, footers, page numbers and copyright/navigation lines
+ * that repeat across the pages of a PDF or the slides of a deck.
+ * Runs on per-page text before whitespace is collapsed, so line boundaries are still available.
+ * Page numbers and repeated lines are only recognised at the top or bottom of a page, where
+ * headers and footers sit; the same text in the body is content and is kept.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BoilerplateStripper {
+
+    public static final String STAGE_PAGE_NUMBERS = "page-numbers";
+    public static final String STAGE_BOILERPLATE = "boilerplate";
+    public static final String STAGE_REPEATED_LINES = "repeated-lines";
+
+    private static final int MIN_PAGES_FOR_REPETITION = 3;  // Too few pages to tell boilerplate from content
+    private static final double REPETITION_RATIO = 0.5;  // Line must appear on at least half of the pages
+    private static final int MAX_REPEATED_LINE_LENGTH = 200;  // Longer lines are content, not headers
+    private static final int EDGE_LINES = 3;  // Non-blank lines at each end of a page that can be header or footer
+
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+            "^(page|slide|p\\.)?\\s*[-–]?\\s*(\\d{1,4}|[ivx]{1,6})\\s*((of|/)\\s*\\d{1,4})?\\s*[-–]?$",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern BOILERPLATE = Pattern.compile(
+            "^(©|\\(c\\)|copyright\\b).*|.*\\ball rights reserved\\b.*|^(skip to (main )?content|back to top|table of contents)$",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Result of stripping: cleaned pages plus characters removed by each stage, in stage order
+     */
+    public record Result(List<String> pages, Map<String, Integer> removedByStage) {
+
+        public int totalRemoved() {
+            return removedByStage.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    /**
+     * Strip repeated and boilerplate lines from a list of pages
+     * @param pages Raw text of each page or slide, in order
+     * @return Cleaned pages and per-stage removal counts
+     */
+    public static Result strip(List<String> pages) {
+        Map<String, Integer> removed = new LinkedHashMap<>();
+        if (pages == null || pages.isEmpty()) {
+            return new Result(Collections.emptyList(), removed);
+        }
+
+        List<List<String>> lines = new ArrayList<>(pages.size());
+        for (String page : pages) {
+            lines.add(new ArrayList<>(List.of((page == null ? "" : page).split("\\R"))));
+        }
+
+        removed.put(STAGE_PAGE_NUMBERS, removeMatching(lines, PAGE_NUMBER, true));
+        removed.put(STAGE_BOILERPLATE, removeMatching(lines, BOILERPLATE, false));
+        removed.put(STAGE_REPEATED_LINES, removeRepeated(lines));
+
+        List<String> cleaned = new ArrayList<>(lines.size());
+        for (List<String> pageLines : lines) {
+            cleaned.add(String.join("\n", pageLines));
+        }
+
+        Result result = new Result(cleaned, removed);
+        log.debug("Boilerplate stripping over {} pages removed {} characters: {}",
+                pages.size(), result.totalRemoved(), removed);
+        return result;
+    }
+
+    // Private helper methods
+
+    /**
+     * Remove lines matching the pattern
+     * @param edgesOnly Only consider lines at the top or bottom of each page
+     */
+    private static int removeMatching(List<List<String>> pages, Pattern pattern, boolean edgesOnly) {
+        int removed = 0;
+        for (List<String> pageLines : pages) {
+            boolean[] edge = edgeLines(pageLines);
+            List<String> kept = new ArrayList<>(pageLines.size());
+            for (int i = 0; i < pageLines.size(); i++) {
+                String line = pageLines.get(i);
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && (edge[i] || !edgesOnly) && pattern.matcher(trimmed).matches()) {
+                    removed += line.length();
+                } else {
+                    kept.add(line);
+                }
+            }
+            replaceLines(pageLines, kept);
+        }
+        return removed;
+    }
+
+    /**
+     * Remove header and footer lines that occur on a large share of pages. Digits are masked before
+     * comparison so that "Lecture 4 - Page 12" and "Lecture 4 - Page 13" count as the same footer.
+     */
+    private static int removeRepeated(List<List<String>> pages) {
+        if (pages.size() < MIN_PAGES_FOR_REPETITION) {
+            return 0;
+        }
+
+        Map<String, Integer> pageFrequency = new HashMap<>();
+        for (List<String> pageLines : pages) {
+            boolean[] edge = edgeLines(pageLines);
+            Set<String> seenOnPage = new HashSet<>();
+            for (int i = 0; i < pageLines.size(); i++) {
+                String key = edge[i] ? normalize(pageLines.get(i)) : null;
+                if (key != null && seenOnPage.add(key)) {
+                    pageFrequency.merge(key, 1, Integer::sum);
+                }
+            }
+        }
+
+        int threshold = Math.max(2, (int) Math.ceil(pages.size() * REPETITION_RATIO));
+        Set<String> repeated = new HashSet<>();
+        pageFrequency.forEach((key, count) -> {
+            if (count >= threshold) {
+                repeated.add(key);
+            }
+        });
+
+        if (repeated.isEmpty()) {
+            return 0;
+        }
+
+        int removed = 0;
+        for (List<String> pageLines : pages) {
+            boolean[] edge = edgeLines(pageLines);
+            List<String> kept = new ArrayList<>(pageLines.size());
+            for (int i = 0; i < pageLines.size(); i++) {
+                String line = pageLines.get(i);
+                String key = edge[i] ? normalize(line) : null;
+                if (key != null && repeated.contains(key)) {
+                    removed += line.length();
+                } else {
+                    kept.add(line);
+                }
+            }
+            replaceLines(pageLines, kept);
+        }
+        return removed;
+    }
+
+    /**
+     * Flags the first and last EDGE_LINES non-blank lines of a page
+     */
+    private static boolean[] edgeLines(List<String> pageLines) {
+        boolean[] edge = new boolean[pageLines.size()];
+        for (int i = 0, seen = 0; i < pageLines.size() && seen < EDGE_LINES; i++) {
+            if (!pageLines.get(i).isBlank()) {
+                edge[i] = true;
+                seen++;
+            }
+        }
+        for (int i = pageLines.size() - 1, seen = 0; i >= 0 && seen < EDGE_LINES; i--) {
+            if (!pageLines.get(i).isBlank()) {
+                edge[i] = true;
+                seen++;
+            }
+        }
+        return edge;
+    }
+
+    private static void replaceLines(List<String> pageLines, List<String> kept) {
+        if (kept.size() != pageLines.size()) {
+            pageLines.clear();
+            pageLines.addAll(kept);
+        }
+    }
+
+    private static String normalize(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_REPEATED_LINE_LENGTH) {
+            return null;
+        }
+        String masked = DIGITS.matcher(trimmed.toLowerCase(Locale.ROOT)).replaceAll("#");
+        return WHITESPACE.matcher(masked).replaceAll(" ");
+    }
+}
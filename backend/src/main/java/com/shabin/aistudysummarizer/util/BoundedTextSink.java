@@ -0,0 +1,68 @@
+package com.shabin.aistudysummarizer.util;
+
+/**
+ * Collects extracted text up to a fixed number of characters.
+ * Extractors append to the sink as they parse and stop reading further pages, slides or
+ * paragraphs once it reports that text was cut off, so content beyond the limit is never parsed.
+ * Not thread-safe: parallel extractors collect their parts and append them in document order.
+ */
+public class BoundedTextSink {
+
+    private final StringBuilder text = new StringBuilder();
+    private final int limit;
+    private boolean truncated;
+
+    /**
+     * @param limit Maximum number of characters to keep
+     */
+    public BoundedTextSink(int limit) {
+        this.limit = Math.max(0, limit);
+    }
+
+    /**
+     * Append as much of a value as fits
+     * @param value Text to append
+     * @return false if the value was cut off and the caller should stop extracting
+     */
+    public boolean append(CharSequence value) {
+        int room = limit - text.length();
+        if (value.length() > room) {
+            text.append(value, 0, room);
+            truncated = true;
+            return false;
+        }
+        text.append(value);
+        return true;
+    }
+
+    /**
+     * Record that content was dropped without passing through the sink, e.g. pages an extractor skipped
+     */
+    public void markTruncated() {
+        truncated = true;
+    }
+
+    /**
+     * Whether extracted content was cut off at the limit
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int remaining() {
+        return limit - text.length();
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
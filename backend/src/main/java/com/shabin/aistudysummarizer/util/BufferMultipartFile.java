@@ -0,0 +1,113 @@
+package com.shabin.aistudysummarizer.util;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A byte buffer presented as an upload, so stored originals can be re-extracted. With a
+ * memory-mapped buffer the extractors stream straight from the page cache; only
+ * {@link #getBytes()} copies onto the heap.
+ */
+public class BufferMultipartFile implements MultipartFile {
+
+    private final ByteBuffer buffer;
+    private final String originalFilename;
+    private final String contentType;
+
+    public BufferMultipartFile(ByteBuffer buffer, String originalFilename) {
+        this.buffer = buffer.asReadOnlyBuffer();
+        this.originalFilename = originalFilename;
+        this.contentType = MediaTypeFactory.getMediaType(originalFilename)
+                .map(MediaType::toString)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public byte[] getBytes() {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Stream over an independent view of the buffer, so concurrent readers do not interfere
+     */
+    @Override
+    public InputStream getInputStream() {
+        ByteBuffer view = buffer.duplicate();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return view.hasRemaining() ? view.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                if (length == 0) {
+                    return 0;
+                }
+                if (!view.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(length, view.remaining());
+                view.get(bytes, offset, count);
+                return count;
+            }
+
+            @Override
+            public int available() {
+                return view.remaining();
+            }
+        };
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        ByteBuffer view = buffer.duplicate();
+        try (FileChannel channel = FileChannel.open(dest, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.shabin.aistudysummarizer.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content hashing for deduplicating uploads.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ContentHashUtil {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Hash a stream in one pass without buffering it on the heap
+     * @param in Stream to hash; read to the end but not closed
+     * @return Lowercase hex SHA-256
+     */
+    public static String sha256Hex(InputStream in) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * New SHA-256 digest, for hashing content while it is copied
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
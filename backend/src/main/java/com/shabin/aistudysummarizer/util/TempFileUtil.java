@@ -0,0 +1,61 @@
+package com.shabin.aistudysummarizer.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Spooling of uploads to temp files, so parsers can read them from disk instead of the heap.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TempFileUtil {
+
+    /**
+     * Copy an upload to a new temp file
+     * @param file The upload to copy
+     * @param suffix File suffix, e.g. ".pdf"
+     * @param tempDir Directory for the file, or blank for the system default
+     * @return Path of the temp file; the caller must delete it
+     */
+    public static Path spool(MultipartFile file, String suffix, String tempDir) throws IOException {
+        Path target = createTempFile(suffix, tempDir);
+        try (InputStream inputStream = file.getInputStream()) {
+            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(target);
+            throw e;
+        }
+        return target;
+    }
+
+    /**
+     * Create an empty temp file in the configured directory
+     */
+    public static Path createTempFile(String suffix, String tempDir) throws IOException {
+        return tempDir != null && !tempDir.isBlank()
+                ? Files.createTempFile(Path.of(tempDir), "upload-", suffix)
+                : Files.createTempFile("upload-", suffix);
+    }
+
+    /**
+     * Delete a temp file, logging instead of throwing on failure
+     */
+    public static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temp file {}: {}", path, e.getMessage());
+        }
+    }
+}
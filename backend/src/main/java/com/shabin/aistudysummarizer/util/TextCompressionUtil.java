@@ -0,0 +1,116 @@
+package com.shabin.aistudysummarizer.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary encoding for large text columns.
+ * The first byte names the format, so rows written with different formats can be read side by
+ * side and the codec can change without rewriting old rows:
+ * <ul>
+ *     <li>{@code 0x01} UTF-8, for short values that don't compress well</li>
+ *     <li>{@code 0x02} original UTF-8 length as a 4-byte int, then raw Deflate data</li>
+ * </ul>
+ * Values without a known format byte are legacy uncompressed UTF-8. Stored text never starts
+ * with these control characters, since extracted text is trimmed and JSON starts with a bracket.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TextCompressionUtil {
+
+    public static final byte FORMAT_UTF8 = 0x01;
+    public static final byte FORMAT_DEFLATE = 0x02;
+
+    // Below this, the Deflate header and dictionary warm-up outweigh the savings
+    private static final int MIN_COMPRESS_BYTES = 256;
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    /**
+     * Encode text, compressing it when that makes it smaller
+     */
+    public static byte[] compress(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESS_BYTES) {
+            byte[] deflated = deflate(utf8);
+            if (deflated.length < utf8.length) {
+                return deflated;
+            }
+        }
+        byte[] encoded = new byte[utf8.length + 1];
+        encoded[0] = FORMAT_UTF8;
+        System.arraycopy(utf8, 0, encoded, 1, utf8.length);
+        return encoded;
+    }
+
+    /**
+     * Decode a value written by {@link #compress} or a legacy plain UTF-8 value
+     */
+    public static String decompress(byte[] encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        if (encoded.length == 0) {
+            return "";
+        }
+        return switch (encoded[0]) {
+            case FORMAT_UTF8 -> new String(encoded, 1, encoded.length - 1, StandardCharsets.UTF_8);
+            case FORMAT_DEFLATE -> inflate(encoded);
+            default -> new String(encoded, StandardCharsets.UTF_8);
+        };
+    }
+
+    // Private helper methods
+
+    private static byte[] deflate(byte[] utf8) {
+        // Fastest level: text still shrinks several times over, at a fraction of the CPU of higher levels
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 3 + 16);
+            out.write(FORMAT_DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(LENGTH_BYTES).putInt(utf8.length).array());
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(buffer);
+                out.write(buffer, 0, written);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] encoded) {
+        int length = ByteBuffer.wrap(encoded, 1, LENGTH_BYTES).getInt();
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(encoded, 1 + LENGTH_BYTES, encoded.length - 1 - LENGTH_BYTES);
+            byte[] utf8 = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int inflated = inflater.inflate(utf8, read, length - read);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Compressed text is truncated");
+                }
+                read += inflated;
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupt: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
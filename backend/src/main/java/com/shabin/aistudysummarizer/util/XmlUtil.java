@@ -0,0 +1,43 @@
+package com.shabin.aistudysummarizer.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.FilterInputStream;
+import java.io.InputStream;
+
+/**
+ * Helpers for streaming the XML parts of uploaded Office documents.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class XmlUtil {
+
+    /**
+     * Create a namespace-aware SAX parser with DTDs disabled, so uploaded files cannot trigger XXE
+     * @return A new parser; parsers are not thread-safe and should not be shared
+     */
+    public static SAXParser newSaxParser() throws ParserConfigurationException, SAXException {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory.newSAXParser();
+    }
+
+    /**
+     * Wrap a stream so the SAX parser cannot close it, e.g. an entry of an enclosing ZipInputStream
+     */
+    public static InputStream nonClosing(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public void close() {
+                // Owned by the caller
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.shabin.aistudysummarizer.util;
+
+import org.apache.poi.openxml4j.util.ZipSecureFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongSupplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Inflated stream of a zip entry that fails once the entry looks like a zip bomb, with the limits
+ * POI's ZipSecureFile applies when it opens Office files itself: the entry may not expand past
+ * the maximum entry size, nor to more than 1 / min-inflate-ratio times the compressed bytes read
+ * for it. As in POI, the ratio is only checked once a grace size has been inflated.
+ */
+public class ZipBombGuardInputStream extends FilterInputStream {
+
+    private static final long GRACE_ENTRY_SIZE = 100 * 1024L;  // Same grace as POI
+
+    private final LongSupplier compressedBytes;
+    private final String entryName;
+    private final double minInflateRatio = ZipSecureFile.getMinInflateRatio();
+    private final long maxEntrySize = ZipSecureFile.getMaxEntrySize();
+    private long inflatedBytes;
+
+    /**
+     * @param inflated Inflated content of the entry
+     * @param compressedBytes Compressed bytes of the entry consumed so far, or its compressed size
+     * @param entryName Name used in error messages
+     */
+    public ZipBombGuardInputStream(InputStream inflated, LongSupplier compressedBytes, String entryName) {
+        super(inflated);
+        this.compressedBytes = compressedBytes;
+        this.entryName = entryName;
+    }
+
+    /**
+     * Open an entry of a zip file, checked against the compressed size from the central directory
+     */
+    public static InputStream open(ZipFile zip, ZipEntry entry) throws IOException {
+        return new ZipBombGuardInputStream(zip.getInputStream(entry), entry::getCompressedSize, entry.getName());
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            inflated(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int count = super.read(buffer, offset, length);
+        if (count > 0) {
+            inflated(count);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            inflated(skipped);
+        }
+        return skipped;
+    }
+
+    // Private helper methods
+
+    private void inflated(long count) throws IOException {
+        inflatedBytes += count;
+        if (inflatedBytes > maxEntrySize) {
+            throw new IOException(String.format("Zip bomb detected: entry %s expands past the %d byte limit",
+                    entryName, maxEntrySize));
+        }
+        if (inflatedBytes > GRACE_ENTRY_SIZE) {
+            double ratio = (double) compressedBytes.getAsLong() / inflatedBytes;
+            if (ratio < minInflateRatio) {
+                throw new IOException(String.format(
+                        "Zip bomb detected: entry %s inflates %d bytes from %d compressed bytes (ratio %f, minimum %f)",
+                        entryName, inflatedBytes, compressedBytes.getAsLong(), ratio, minInflateRatio));
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes read through it, e.g. the compressed bytes a ZipInputStream has consumed
+     */
+    public static class ByteCounter extends FilterInputStream {
+
+        private long count;
+
+        public ByteCounter(InputStream in) {
+            super(in);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.shabin.aistudysummarizer.blob;
+
+import com.shabin.aistudysummarizer.util.ContentHashUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalBlobStoreTest {
+
+    private static final byte[] LECTURE = "Dijkstra relaxes each edge once per vertex".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    @Test
+    void storesUnderHashAndMapsBack() throws IOException {
+        LocalBlobStore store = new LocalBlobStore(root.toString());
+        String hash = ContentHashUtil.sha256Hex(new ByteArrayInputStream(LECTURE));
+
+        store.put(hash, new ByteArrayInputStream(LECTURE));
+        store.put(hash, new ByteArrayInputStream(LECTURE));
+
+        assertTrue(store.contains(hash));
+        assertTrue(Files.exists(root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash)));
+        ByteBuffer blob = store.read(hash);
+        assertTrue(blob.isReadOnly());
+        byte[] bytes = new byte[blob.remaining()];
+        blob.get(bytes);
+        assertEquals(new String(LECTURE, StandardCharsets.UTF_8), new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectsContentThatDoesNotMatchHash() throws IOException {
+        LocalBlobStore store = new LocalBlobStore(root.toString());
+        String hash = ContentHashUtil.sha256Hex(new ByteArrayInputStream(LECTURE));
+
+        assertThrows(IOException.class, () -> store.put(hash, new ByteArrayInputStream("tampered".getBytes())));
+
+        assertFalse(store.contains(hash));
+        try (Stream<Path> files = Files.list(root)) {
+            assertEquals(0, files.count(), "Temp file should be removed");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.shabin.aistudysummarizer.datasource;
+
+import com.shabin.aistudysummarizer.config.ExtractionConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        routing = new ReadWriteRoutingDataSource(primary, replica, lagMonitor, new ReadYourWritesTracker(60_000));
+        startRequest();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToInSyncReplica() throws Exception {
+        assertSame(replicaConnection, connectionIn(true));
+        assertSame(primaryConnection, connectionIn(false));
+
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        startRequest();
+
+        assertSame(primaryConnection, connectionIn(true));
+    }
+
+    @Test
+    void keepsReadsAfterWriteOnPrimaryForRestOfRequest() throws Exception {
+        connectionIn(false);
+        assertSame(primaryConnection, connectionIn(true));
+
+        startRequest();
+
+        assertSame(replicaConnection, connectionIn(true));
+    }
+
+    @Test
+    void keepsWritingUsersReadsOnPrimaryAcrossRequests() throws Exception {
+        authenticate("writer@example.com");
+        connectionIn(false);
+
+        startRequest();
+        assertSame(primaryConnection, connectionIn(true));
+
+        authenticate("reader@example.com");
+        assertSame(replicaConnection, connectionIn(true));
+    }
+
+    @Test
+    void keepsListAfterUploadOnPrimaryWhenUploadIsSavedOnExtractionWorker() throws Exception {
+        ThreadPoolTaskExecutor extractionExecutor = new ExtractionConfig().documentExtractionExecutor(1, 4);
+        try {
+            authenticate("uploader@example.com");
+            CountDownLatch continuationRegistered = new CountDownLatch(1);
+
+            // Upload: extraction completes on a worker, which then saves the document
+            CompletableFuture<String> extraction = extractionExecutor.submitCompletable(() -> {
+                continuationRegistered.await();
+                return "extracted text";
+            });
+            CompletableFuture<Connection> saved = extraction.thenApply(text -> {
+                try {
+                    return connectionIn(false);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            continuationRegistered.countDown();
+            saved.join();
+
+            startRequest();
+            assertSame(primaryConnection, connectionIn(true));
+        } finally {
+            extractionExecutor.shutdown();
+        }
+    }
+
+    private Connection connectionIn(boolean readOnly) throws Exception {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            return routing.getConnection();
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.shabin.aistudysummarizer.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+
+    private final ResultSet replicaResult = mock(ResultSet.class);
+
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ResultSet primaryResult = mock(ResultSet.class);
+        when(primaryResult.next()).thenReturn(true);
+        when(primaryResult.getString(1)).thenReturn("0/3000060");
+        Statement primaryStatement = mock(Statement.class);
+        when(primaryStatement.executeQuery(anyString())).thenReturn(primaryResult);
+        Connection primaryConnection = mock(Connection.class);
+        when(primaryConnection.createStatement()).thenReturn(primaryStatement);
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        when(replicaResult.next()).thenReturn(true);
+        when(replicaResult.getBoolean("in_recovery")).thenReturn(true);
+        when(replicaResult.getBoolean("streaming")).thenReturn(true);
+        when(replicaResult.getBoolean("caught_up")).thenReturn(true);
+        PreparedStatement replicaStatement = mock(PreparedStatement.class);
+        when(replicaStatement.executeQuery()).thenReturn(replicaResult);
+        Connection replicaConnection = mock(Connection.class);
+        when(replicaConnection.prepareStatement(anyString())).thenReturn(replicaStatement);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        // The constructor runs the first check in the background; let it finish before restubbing
+        monitor = new ReplicaLagMonitor(primary, replica, 5, 3_600_000);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (!monitor.isReplicaUsable()) {
+                Thread.sleep(10);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+    }
+
+    @Test
+    void usesReplicaThatIsStreamingAndCaughtUp() {
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void skipsReplicaWhoseWalReceiverIsDisconnected() throws Exception {
+        // Having replayed everything it received says nothing once it stops receiving
+        when(replicaResult.getBoolean("streaming")).thenReturn(false);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void skipsReplicaThatIsBehindByMoreThanTheLimit() throws Exception {
+        when(replicaResult.getBoolean("caught_up")).thenReturn(false);
+        when(replicaResult.getDouble("replay_age")).thenReturn(30.0);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+    }
+}
@@ -0,0 +1,159 @@
+package com.shabin.aistudysummarizer.migration;
+
+import com.shabin.aistudysummarizer.AistudysummarizerApplication;
+import com.shabin.aistudysummarizer.entity.DocumentContent;
+import com.shabin.aistudysummarizer.repository.DocumentContentRepository;
+import com.shabin.aistudysummarizer.util.TextCompressionUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Starts the application against a database in the schema of the first release and checks that
+ * the startup migrations bring it up to date. The migrations are PostgreSQL-only, so this runs
+ * only when a database is given, e.g. {@code -Dtest.postgres.url=jdbc:postgresql://localhost:5432/postgres};
+ * it works in a throwaway schema that is dropped afterwards.
+ */
+@EnabledIfSystemProperty(named = "test.postgres.url", matches = ".+")
+class BaselineUpgradeTest {
+
+    private static final String TEXT = "Dijkstra's algorithm finds shortest paths. ".repeat(50).trim();
+    private static final String SUMMARY_JSON =
+            "{\"executiveSummary\":\"Shortest paths\",\"keyTerms\":[\"Dijkstra\"]}";
+
+    private final String url = System.getProperty("test.postgres.url");
+    private final String username = System.getProperty("test.postgres.username", "postgres");
+    private final String password = System.getProperty("test.postgres.password", "");
+    private final String schema = "upgrade_" + UUID.randomUUID().toString().replace("-", "");
+
+    @TempDir
+    Path blobDir;
+
+    @Test
+    void migratesBaselineSchemaOnStartup() throws SQLException {
+        UUID userId = UUID.randomUUID();
+        UUID documentId = UUID.randomUUID();
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA " + schema);
+            statement.execute("SET search_path TO " + schema);
+            createBaselineSchema(statement);
+            insertBaselineRows(connection, userId, documentId);
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AistudysummarizerApplication.class)
+                .properties(
+                        "spring.datasource.url=" + url + (url.contains("?") ? "&" : "?") + "currentSchema=" + schema,
+                        "spring.datasource.username=" + username,
+                        "spring.datasource.password=" + password,
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "server.port=0",
+                        "storage.blob-dir=" + blobDir,
+                        "jwt.secret=testsecretkeytestsecretkeytest",
+                        "jwt.expiration=1000")
+                .run()) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            DatabaseSchema databaseSchema = context.getBean(DatabaseSchema.class);
+
+            assertNull(databaseSchema.columnType("documents", "extracted_text"));
+            assertEquals("bytea", databaseSchema.columnType("document_contents", "extracted_text"));
+            assertEquals("jsonb", databaseSchema.columnType("summaries", "summary_json"));
+
+            Map<String, Object> content = jdbcTemplate.queryForMap("SELECT c.extracted_text, c.text_search"
+                    + " FROM documents d JOIN document_contents c ON c.id = d.content_id WHERE d.id = ?", documentId);
+            byte[] stored = (byte[]) content.get("extracted_text");
+            assertEquals(TextCompressionUtil.FORMAT_DEFLATE, stored[0]);
+            assertEquals(TEXT, TextCompressionUtil.decompress(stored));
+            assertNotNull(content.get("text_search"));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM summaries"
+                    + " WHERE search_vector @@ websearch_to_tsquery('english', 'dijkstra')", Integer.class));
+
+            // Content saved by the application is indexed by the trigger; other writes of the text
+            // drop the vector rather than leave it stale
+            UUID contentId = context.getBean(DocumentContentRepository.class).save(DocumentContent.builder()
+                    .contentHash("0".repeat(64)).extractedText("Bellman-Ford handles negative edges").build()).getId();
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM document_contents"
+                    + " WHERE id = ? AND text_search @@ websearch_to_tsquery('english', 'negative edges')"
+                    + " AND search_text IS NULL", Integer.class, contentId));
+            jdbcTemplate.update("UPDATE document_contents SET extracted_text = ? WHERE id = ?",
+                    TextCompressionUtil.compress("Prim builds spanning trees"), contentId);
+            assertNull(jdbcTemplate.queryForObject("SELECT text_search FROM document_contents WHERE id = ?",
+                    Object.class, contentId));
+        } finally {
+            try (Connection connection = DriverManager.getConnection(url, username, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP SCHEMA " + schema + " CASCADE");
+            }
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Tables as Hibernate created them for the first release, with extracted text in large objects
+     */
+    private void createBaselineSchema(Statement statement) throws SQLException {
+        statement.execute("""
+                CREATE TABLE users (
+                    id uuid PRIMARY KEY, email varchar(255) NOT NULL UNIQUE, password varchar(255) NOT NULL,
+                    role varchar(255) NOT NULL, created_at timestamp(6) NOT NULL, updated_at timestamp(6) NOT NULL,
+                    reset_token varchar(255), reset_token_expiry timestamp(6))
+                """);
+        statement.execute("""
+                CREATE TABLE documents (
+                    id uuid PRIMARY KEY, user_id uuid NOT NULL REFERENCES users, title varchar(255) NOT NULL,
+                    source_type varchar(255) NOT NULL, source_url varchar(255), original_filename varchar(255),
+                    file_size_bytes bigint, extracted_text oid NOT NULL, created_at timestamp(6) NOT NULL)
+                """);
+        statement.execute("""
+                CREATE TABLE summaries (
+                    id uuid PRIMARY KEY, user_id uuid NOT NULL REFERENCES users,
+                    document_id uuid NOT NULL REFERENCES documents, summary_json text NOT NULL,
+                    model_used varchar(255) NOT NULL, tokens_used integer, created_at timestamp(6) NOT NULL)
+                """);
+        statement.execute("CREATE INDEX idx_documents_user_id ON documents (user_id)");
+        statement.execute("CREATE INDEX idx_summaries_user_id ON summaries (user_id)");
+    }
+
+    private void insertBaselineRows(Connection connection, UUID userId, UUID documentId) throws SQLException {
+        try (PreparedStatement user = connection.prepareStatement("INSERT INTO users"
+                + " (id, email, password, role, created_at, updated_at) VALUES (?, ?, 'hash', 'USER', now(), now())")) {
+            user.setObject(1, userId);
+            user.setString(2, "student@example.com");
+            user.executeUpdate();
+        }
+        try (PreparedStatement document = connection.prepareStatement("INSERT INTO documents"
+                + " (id, user_id, title, source_type, extracted_text, created_at)"
+                + " VALUES (?, ?, 'Graphs', 'PDF', lo_from_bytea(0, convert_to(?, 'UTF8')), now())")) {
+            document.setObject(1, documentId);
+            document.setObject(2, userId);
+            document.setString(3, TEXT);
+            document.executeUpdate();
+        }
+        try (PreparedStatement summary = connection.prepareStatement("INSERT INTO summaries"
+                + " (id, user_id, document_id, summary_json, model_used, created_at)"
+                + " VALUES (?, ?, ?, ?, 'gemini-2.0-flash', now())")) {
+            summary.setObject(1, UUID.randomUUID());
+            summary.setObject(2, userId);
+            summary.setObject(3, documentId);
+            summary.setString(4, SUMMARY_JSON);
+            summary.executeUpdate();
+        }
+    }
+}
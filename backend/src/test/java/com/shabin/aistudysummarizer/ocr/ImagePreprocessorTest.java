@@ -0,0 +1,94 @@
+package com.shabin.aistudysummarizer.ocr;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImagePreprocessorTest {
+
+    private ImagePreprocessor preprocessor;
+
+    @BeforeEach
+    void setUp() {
+        preprocessor = new ImagePreprocessor();
+        ReflectionTestUtils.setField(preprocessor, "enabled", true);
+        ReflectionTestUtils.setField(preprocessor, "maxShortSide", 750);
+        ReflectionTestUtils.setField(preprocessor, "binarize", true);
+        ReflectionTestUtils.setField(preprocessor, "thresholdPercent", 15);
+        ReflectionTestUtils.setField(preprocessor, "deskew", true);
+        ReflectionTestUtils.setField(preprocessor, "crop", true);
+    }
+
+    @Test
+    void levelsSkewedTextLines() {
+        BufferedImage skewed = textLines(3.0);
+
+        double before = preprocessor.estimateSkew(skewed);
+        double after = preprocessor.estimateSkew(preprocessor.deskew(skewed));
+
+        assertTrue(Math.abs(before) >= 2.0, "expected skew to be detected, got " + before);
+        assertTrue(Math.abs(after) < 1.0, "expected level lines after deskew, got " + after);
+    }
+
+    @Test
+    void downscalesToGrayscaleAndCropsMargins() {
+        BufferedImage photo = new BufferedImage(2000, 1500, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = photo.createGraphics();
+        graphics.setColor(new Color(230, 220, 200));
+        graphics.fillRect(0, 0, 2000, 1500);
+        graphics.setColor(Color.DARK_GRAY);
+        for (int y = 600; y < 900; y += 40) {
+            graphics.fillRect(700, y, 600, 12);
+        }
+        graphics.dispose();
+
+        BufferedImage result = preprocessor.process(photo);
+
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, result.getType());
+        assertTrue(result.getWidth() < 500, "expected crop to text block, width " + result.getWidth());
+        assertTrue(result.getHeight() < 250, "expected crop to text block, height " + result.getHeight());
+    }
+
+    @Test
+    void capsShortSideSoTallScreenshotsKeepTheirWidth() {
+        ReflectionTestUtils.setField(preprocessor, "maxShortSide", 2550);
+        ReflectionTestUtils.setField(preprocessor, "maxPixels", 4_000_000L);
+        ReflectionTestUtils.setField(preprocessor, "tallAspectRatio", 2.0);
+
+        assertEquals(1.0, preprocessor.scaleFor(new BufferedImage(1080, 20000, BufferedImage.TYPE_BYTE_GRAY)));
+        assertEquals(2550.0 / 3000, preprocessor.scaleFor(new BufferedImage(3000, 20000, BufferedImage.TYPE_BYTE_GRAY)), 1e-9);
+    }
+
+    @Test
+    void capsTotalPixelsOfPhotos() {
+        ReflectionTestUtils.setField(preprocessor, "maxShortSide", 2550);
+        ReflectionTestUtils.setField(preprocessor, "maxPixels", 4_000_000L);
+        ReflectionTestUtils.setField(preprocessor, "tallAspectRatio", 2.0);
+
+        double scale = preprocessor.scaleFor(new BufferedImage(4000, 3000, BufferedImage.TYPE_BYTE_GRAY));
+
+        assertEquals(4_000_000, 4000 * scale * 3000 * scale, 1000);
+        assertEquals(1.0, preprocessor.scaleFor(new BufferedImage(2000, 1500, BufferedImage.TYPE_BYTE_GRAY)));
+    }
+
+    private BufferedImage textLines(double degrees) {
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 800, 600);
+        graphics.rotate(Math.toRadians(degrees), 400, 300);
+        graphics.setColor(Color.BLACK);
+        for (int y = 100; y < 500; y += 30) {
+            graphics.fillRect(100, y, 600, 6);
+        }
+        graphics.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,112 @@
+package com.shabin.aistudysummarizer.ocr;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageTilerTest {
+
+    private ImageTiler tiler;
+
+    @BeforeEach
+    void setUp() {
+        tiler = new ImageTiler();
+        ReflectionTestUtils.setField(tiler, "minHeight", 1000);
+        ReflectionTestUtils.setField(tiler, "bandHeight", 400);
+        ReflectionTestUtils.setField(tiler, "overlap", 20);
+    }
+
+    @Test
+    void cutsBandsOnWhitespaceGapsCoveringWholeImage() {
+        BufferedImage image = new BufferedImage(300, 2000, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 300, 2000);
+        graphics.setColor(Color.BLACK);
+        for (int y = 10; y < 2000; y += 50) {
+            graphics.fillRect(10, y, 280, 30);  // Text lines with 20px gaps
+        }
+        graphics.dispose();
+
+        List<ImageTiler.Band> bands = tiler.split(image);
+
+        assertTrue(bands.size() > 1);
+        assertEquals(0, bands.get(0).top());
+        assertEquals(2000, bands.get(bands.size() - 1).bottom());
+        for (int i = 1; i < bands.size(); i++) {
+            int cut = bands.get(i).top();
+            assertEquals(bands.get(i - 1).bottom(), cut);
+            assertTrue((cut - 10) % 50 >= 30, "cut at row " + cut + " splits a text line");
+        }
+    }
+
+    @Test
+    void splitsPreprocessedTallScreenshotIntoReadableBands() {
+        BufferedImage screenshot = new BufferedImage(1080, 20000, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = screenshot.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 1080, 20000);
+        graphics.setColor(Color.BLACK);
+        for (int y = 40; y < 19960; y += 60) {
+            graphics.fillRect(90, y, 900, 20);  // Text lines with 40px gaps
+        }
+        graphics.dispose();
+        ImagePreprocessor preprocessor = new ImagePreprocessor();
+        ReflectionTestUtils.setField(preprocessor, "enabled", true);
+        ReflectionTestUtils.setField(preprocessor, "maxShortSide", 2550);
+        ReflectionTestUtils.setField(preprocessor, "maxPixels", 4_000_000L);
+        ReflectionTestUtils.setField(preprocessor, "tallAspectRatio", 2.0);
+        ReflectionTestUtils.setField(preprocessor, "binarize", true);
+        ReflectionTestUtils.setField(preprocessor, "thresholdPercent", 15);
+        ReflectionTestUtils.setField(preprocessor, "deskew", true);
+        ReflectionTestUtils.setField(preprocessor, "crop", true);
+        ReflectionTestUtils.setField(tiler, "minHeight", 3000);
+        ReflectionTestUtils.setField(tiler, "bandHeight", 1200);
+        ReflectionTestUtils.setField(tiler, "overlap", 48);
+
+        List<ImageTiler.Band> bands = tiler.split(preprocessor.process(screenshot));
+
+        assertTrue(bands.size() >= 15, "expected the screenshot in many bands, got " + bands.size());
+        for (ImageTiler.Band band : bands) {
+            assertTrue(band.image().getWidth() >= 900, "band narrowed to " + band.image().getWidth() + "px");
+            assertTrue(band.image().getHeight() <= 1200 + 1200 / 4 + 48);
+        }
+    }
+
+    @Test
+    void keepsSmallImagesWhole() {
+        BufferedImage image = new BufferedImage(300, 500, BufferedImage.TYPE_BYTE_GRAY);
+
+        assertEquals(1, tiler.split(image).size());
+    }
+
+    @Test
+    void dropsLinesDuplicatedByOverlap() {
+        List<ImageTiler.Band> bands = List.of(new ImageTiler.Band(0, 1248, null), new ImageTiler.Band(1152, 2400, null));
+
+        String stitched = tiler.stitch(bands, List.of(
+                "First line\nSecond line\nThird line",
+                "Third line\nFourth line"));
+
+        assertEquals("First line\nSecond line\nThird line\nFourth line", stitched);
+    }
+
+    @Test
+    void keepsRepeatedLinesAcrossCleanCut() {
+        List<ImageTiler.Band> bands = List.of(new ImageTiler.Band(0, 1200, null), new ImageTiler.Band(1200, 2400, null));
+
+        String stitched = tiler.stitch(bands, List.of(
+                "if (found) {\n    return;\n}",
+                "}\nreturn -1;"));
+
+        assertEquals("if (found) {\n    return;\n}\n}\nreturn -1;", stitched);
+    }
+}
@@ -0,0 +1,114 @@
+package com.shabin.aistudysummarizer.repository;
+
+import com.shabin.aistudysummarizer.entity.Document;
+import com.shabin.aistudysummarizer.entity.DocumentContent;
+import com.shabin.aistudysummarizer.entity.Role;
+import com.shabin.aistudysummarizer.entity.SourceType;
+import com.shabin.aistudysummarizer.entity.Summary;
+import com.shabin.aistudysummarizer.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ownership-filtered lookups load everything their callers use in a single statement
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:owned;INIT=CREATE DOMAIN IF NOT EXISTS jsonb AS JSON",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OwnedEntityQueriesTest {
+
+    private static final String OWNER = "student@example.com";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private SummaryRepository summaryRepository;
+
+    private Statistics statistics;
+    private UUID documentId;
+    private UUID summaryId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persist(User.builder().email(OWNER).password("secret").role(Role.USER).build());
+        DocumentContent content = persist(DocumentContent.builder()
+                .contentHash("hash").extractedText("Dijkstra finds shortest paths").build());
+        Document document = persist(Document.builder()
+                .user(owner).title("Graph notes").sourceType(SourceType.PDF).content(content).build());
+        Summary summary = persist(Summary.builder()
+                .user(owner).document(document).summaryJson("{\"mcqs\": []}").modelUsed("test-model").build());
+        documentId = document.getId();
+        summaryId = summary.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loadsDocumentWithOwnerAndTextInOneStatement() {
+        Document document = documentRepository.findWithUserAndContentByIdAndUserEmail(documentId, OWNER).orElseThrow();
+
+        assertEquals(OWNER, document.getUser().getEmail());
+        assertEquals("Dijkstra finds shortest paths", document.getExtractedText());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void loadsSummaryWithDocumentTextInOneStatement() {
+        Summary summary = summaryRepository.findWithDocumentContentByIdAndUserEmail(summaryId, OWNER).orElseThrow();
+
+        assertEquals("Graph notes", summary.getDocument().getTitle());
+        assertEquals("Dijkstra finds shortest paths", summary.getDocument().getExtractedText());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void loadsSummaryDocumentWithTextInOneStatement() {
+        Document document = summaryRepository.findDocumentByIdAndUserEmail(summaryId, OWNER).orElseThrow();
+
+        assertEquals("Dijkstra finds shortest paths", document.getExtractedText());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void hidesAndKeepsEntitiesOfOtherUsers() {
+        String other = "other@example.com";
+
+        assertTrue(documentRepository.findWithUserAndContentByIdAndUserEmail(documentId, other).isEmpty());
+        assertTrue(summaryRepository.findWithDocumentByIdAndUserEmail(summaryId, other).isEmpty());
+        assertEquals(0, summaryRepository.deleteByIdAndUserEmail(summaryId, other));
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        assertEquals(1, summaryRepository.deleteByIdAndUserEmail(summaryId, OWNER));
+        assertFalse(summaryRepository.existsById(summaryId));
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
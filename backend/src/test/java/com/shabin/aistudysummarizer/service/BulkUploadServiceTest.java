@@ -0,0 +1,169 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.blob.BlobStore;
+import com.shabin.aistudysummarizer.dto.document.BulkUploadResult;
+import com.shabin.aistudysummarizer.entity.Document;
+import com.shabin.aistudysummarizer.entity.User;
+import com.shabin.aistudysummarizer.repository.DocumentContentRepository;
+import com.shabin.aistudysummarizer.repository.DocumentRepository;
+import com.shabin.aistudysummarizer.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkUploadServiceTest {
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final DocumentContentRepository contentRepository = mock(DocumentContentRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ExtractionService extractionService = mock(ExtractionService.class);
+    private final User uploader = User.builder().email("bulk@example.com").build();
+
+    private BulkUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(uploader.getEmail(), null));
+        when(userRepository.findByEmail(uploader.getEmail())).thenReturn(Optional.of(uploader));
+        when(contentRepository.findByContentHash(anyString())).thenReturn(Optional.empty());
+        when(contentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(extractionService.submitOrRun(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                new ExtractionService.Result(new String(invocation.<MultipartFile>getArgument(0).getBytes(),
+                        StandardCharsets.UTF_8), false, 10)));
+
+        DocumentService documentService = new DocumentService(documentRepository, contentRepository,
+                mock(BlobStore.class), userRepository, extractionService, mock(WebScrapingService.class), new SimpleMeterRegistry());
+        documentService.registerMetrics();
+
+        DocumentValidationService validationService = new DocumentValidationService();
+        ReflectionTestUtils.setField(validationService, "maxFileSize", 1024L);
+        ReflectionTestUtils.setField(validationService, "maxArchiveSize", 1024L * 1024);
+
+        service = new BulkUploadService(documentService, validationService, documentRepository);
+        ReflectionTestUtils.setField(service, "maxFileSize", 1024L);
+        ReflectionTestUtils.setField(service, "maxEntries", 10);
+        ReflectionTestUtils.setField(service, "maxInFlight", 2);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "tempDir", "");
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void importsEachSupportedEntryInArchiveOrder() throws Exception {
+        MockMultipartFile archive = zip(
+                "notes/graphs.txt", "Dijkstra finds shortest paths",
+                "notes/", null,
+                "__MACOSX/notes/._graphs.txt", "resource fork",
+                "trees.md", "# Trees",
+                "heaps.txt", "A heap is a complete binary tree");
+
+        List<BulkUploadResult> results = service.uploadArchive(archive);
+
+        assertEquals(List.of("graphs.txt", "trees.md", "heaps.txt"),
+                results.stream().map(BulkUploadResult::getFilename).toList());
+        assertTrue(results.stream().allMatch(BulkUploadResult::isSuccess));
+
+        List<Document> saved = savedDocuments(2);
+        assertEquals("Dijkstra finds shortest paths", saved.get(0).getExtractedText());
+        assertEquals(uploader, saved.get(0).getUser());
+    }
+
+    @Test
+    void reportsInvalidAndOversizedEntriesWithoutFailingTheArchive() throws Exception {
+        MockMultipartFile archive = zip(
+                "script.exe", "MZ",
+                "big.txt", "x".repeat(2048),
+                "graphs.txt", "Dijkstra finds shortest paths");
+
+        List<BulkUploadResult> results = service.uploadArchive(archive);
+
+        assertFalse(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals("graphs.txt", results.get(2).getDocument().getTitle());
+    }
+
+    @Test
+    void importsFilesReadBeforeArchiveErrorAndReportsTheRest() throws Exception {
+        byte[] bytes = zip(
+                "graphs.txt", "Dijkstra finds shortest paths",
+                "trees.md", "A tree is a connected acyclic graph. ".repeat(20)).getBytes();
+        // Cut the archive off in the middle of the second entry's compressed data
+        int secondEntry = indexOf(bytes, "trees.md".getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile truncated = new MockMultipartFile("file", "notes.zip", "application/zip",
+                Arrays.copyOf(bytes, secondEntry + 40));
+
+        List<BulkUploadResult> results = service.uploadArchive(truncated);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("notes.zip", results.get(1).getFilename());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Dijkstra finds shortest paths", savedDocuments(1).get(0).getExtractedText());
+    }
+
+    private int indexOf(byte[] bytes, byte[] part) {
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + part.length, part, 0, part.length)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("not found");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Document> savedDocuments(int batches) {
+        ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass(List.class);
+        verify(documentRepository, times(batches)).saveAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Build an archive from name/content pairs; a null content adds a directory entry
+     */
+    private MockMultipartFile zip(String... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                if (entries[i + 1] != null) {
+                    zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                }
+                zip.closeEntry();
+            }
+        }
+        return new MockMultipartFile("file", "notes.zip", "application/zip", bytes.toByteArray());
+    }
+}
@@ -0,0 +1,131 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.blob.BlobStore;
+import com.shabin.aistudysummarizer.dto.document.DocumentUploadResponse;
+import com.shabin.aistudysummarizer.entity.Document;
+import com.shabin.aistudysummarizer.entity.DocumentContent;
+import com.shabin.aistudysummarizer.entity.SourceType;
+import com.shabin.aistudysummarizer.entity.User;
+import com.shabin.aistudysummarizer.exception.ServiceBusyException;
+import com.shabin.aistudysummarizer.repository.DocumentContentRepository;
+import com.shabin.aistudysummarizer.repository.DocumentRepository;
+import com.shabin.aistudysummarizer.repository.UserRepository;
+import com.shabin.aistudysummarizer.util.ContentHashUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DocumentServiceTest {
+
+    private static final byte[] NOTES = "Dijkstra finds shortest paths".getBytes();
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final DocumentContentRepository contentRepository = mock(DocumentContentRepository.class);
+    private final BlobStore blobStore = mock(BlobStore.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ExtractionService extractionService = mock(ExtractionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final User uploader = User.builder().email("second@example.com").build();
+
+    private DocumentService service;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(uploader.getEmail(), null));
+        when(userRepository.findByEmail(uploader.getEmail())).thenReturn(Optional.of(uploader));
+        when(contentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new DocumentService(documentRepository, contentRepository, blobStore, userRepository,
+                extractionService, mock(WebScrapingService.class), meterRegistry);
+        service.registerMetrics();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void reusesExtractedTextForIdenticalUpload() throws Exception {
+        DocumentContent existing = DocumentContent.builder()
+                .id(UUID.randomUUID())
+                .contentHash(ContentHashUtil.sha256Hex(new ByteArrayInputStream(NOTES)))
+                .extractedText("Dijkstra finds shortest paths")
+                .extractionMillis(1200L)
+                .build();
+        when(contentRepository.findByContentHash(existing.getContentHash())).thenReturn(Optional.of(existing));
+
+        DocumentUploadResponse response = service.uploadDocument(upload(), "Graphs", null).get();
+
+        verify(extractionService, never()).submit(any(), any());
+        verify(blobStore, never()).put(anyString(), any());
+        Document saved = savedDocument();
+        assertSame(existing, saved.getContent());
+        assertSame(uploader, saved.getUser());
+        assertEquals("Graphs", response.getTitle());
+        assertEquals(1.0, meterRegistry.get("upload.dedup.ratio").gauge().value());
+        assertEquals(1200.0, meterRegistry.get("upload.dedup.parse.time.saved").timer()
+                .totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void extractsAndStoresContentAndOriginalForNewUpload() throws Exception {
+        when(contentRepository.findByContentHash(anyString())).thenReturn(Optional.empty());
+        when(extractionService.submit(any(), any())).thenReturn(CompletableFuture.completedFuture(
+                new ExtractionService.Result("Dijkstra finds shortest paths", false, 900)));
+
+        service.uploadDocument(upload(), "Graphs", SourceType.TEXT).get();
+
+        Document saved = savedDocument();
+        assertEquals("Dijkstra finds shortest paths", saved.getExtractedText());
+        String hash = saved.getContent().getContentHash();
+        assertEquals(64, hash.length());
+        assertEquals(hash, saved.getBlobHash());
+        verify(blobStore).put(eq(hash), any());
+        assertEquals(0.0, meterRegistry.get("upload.dedup.ratio").gauge().value());
+    }
+
+    @Test
+    void keepsNoOriginalWhenExtractionQueueRejectsUpload() throws Exception {
+        when(contentRepository.findByContentHash(anyString())).thenReturn(Optional.empty());
+        when(extractionService.submit(any(), any())).thenThrow(ServiceBusyException.extractionBusy(5));
+
+        assertThrows(ServiceBusyException.class, () -> service.uploadDocument(upload(), "Graphs", SourceType.TEXT));
+
+        verify(blobStore, never()).put(anyString(), any());
+        verify(contentRepository, never()).save(any());
+    }
+
+    private Document savedDocument() {
+        ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+        verify(documentRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private MockMultipartFile upload() {
+        return new MockMultipartFile("file", "graphs.txt", "text/plain", NOTES);
+    }
+}
@@ -0,0 +1,107 @@
+package com.shabin.aistudysummarizer.service;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTabStop;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STTabJc;
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocxServiceTest {
+
+    @Test
+    void extractsParagraphsAndTablesInDocumentOrder() throws IOException {
+        BoundedTextSink sink = new BoundedTextSink(1_000_000);
+
+        String text = new DocxService().extractText(docx(), sink);
+
+        assertTrue(text.startsWith("Course syllabus"), text);
+        assertTrue(text.contains("Week | Topic |"), text);
+        assertTrue(text.contains("1 | Sorting |"), text);
+        assertTrue(text.indexOf("Sorting") < text.indexOf("Assessment is by final exam"), text);
+        assertFalse(sink.isTruncated());
+    }
+
+    @Test
+    void stopsAtTextLimit() throws IOException {
+        BoundedTextSink sink = new BoundedTextSink(10);
+
+        String text = new DocxService().extractText(docx(), sink);
+
+        assertEquals("Course syl", text);
+        assertTrue(sink.isTruncated());
+    }
+
+    @Test
+    void emitsTabRunsButNotTabStopDefinitions() throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            document.createParagraph().createRun().setText("Plan");
+            XWPFParagraph paragraph = document.createParagraph();
+            CTTabStop tabStop = paragraph.getCTP().addNewPPr().addNewTabs().addNewTab();
+            tabStop.setVal(STTabJc.LEFT);
+            tabStop.setPos(BigInteger.valueOf(2880));
+            XWPFRun run = paragraph.createRun();
+            run.setText("Week 1");
+            run.addTab();
+            run.setText("Sorting");
+            document.write(out);
+
+            String text = new DocxService().extractText(new MockMultipartFile("file", "plan.docx",
+                    null, out.toByteArray()), new BoundedTextSink(1_000_000));
+
+            assertEquals("Plan\nWeek 1\tSorting", text);
+        }
+    }
+
+    @Test
+    void rejectsDocumentPartThatInflatesLikeAZipBomb() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(("<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\">"
+                    + "<w:body><w:p><w:r><w:t>").getBytes(StandardCharsets.UTF_8));
+            byte[] filler = " ".repeat(1024 * 1024).getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < 20; i++) {
+                zip.write(filler);
+            }
+            zip.write("</w:t></w:r></w:p></w:body></w:document>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        MockMultipartFile bomb = new MockMultipartFile("file", "bomb.docx", null, out.toByteArray());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> new DocxService().extractText(bomb, new BoundedTextSink(1_000_000)));
+
+        assertTrue(e.getMessage().contains("Zip bomb"), e.getMessage());
+    }
+
+    private MockMultipartFile docx() throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            document.createParagraph().createRun().setText("Course syllabus");
+            XWPFTable table = document.createTable(2, 2);
+            table.getRow(0).getCell(0).setText("Week");
+            table.getRow(0).getCell(1).setText("Topic");
+            table.getRow(1).getCell(0).setText("1");
+            table.getRow(1).getCell(1).setText("Sorting");
+            document.createParagraph().createRun().setText("Assessment is by final exam");
+            document.write(out);
+            return new MockMultipartFile("file", "syllabus.docx",
+                    "application/vnd.openxmlformats-officedocument.wordprocessingml.document", out.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.entity.SourceType;
+import com.shabin.aistudysummarizer.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExtractionServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TextFileService textFileService = mock(TextFileService.class);
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectsUploadsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(textFileService.extractText(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "notes";
+        });
+        ExtractionService service = service(1, 1);
+
+        CompletableFuture<ExtractionService.Result> running = service.submit(upload(), SourceType.TEXT);
+        CompletableFuture<ExtractionService.Result> queued = service.submit(upload(), SourceType.TEXT);
+
+        ServiceBusyException rejected = assertThrows(ServiceBusyException.class,
+                () -> service.submit(upload(), SourceType.TEXT));
+        assertEquals(7, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.counter("extraction.rejected", "source_type", "TEXT").count());
+
+        release.countDown();
+        assertEquals("notes", running.get(5, TimeUnit.SECONDS).text());
+        assertEquals("notes", queued.get(5, TimeUnit.SECONDS).text());
+        assertEquals(0.0, meterRegistry.get("extraction.queue.depth").tag("source_type", "TEXT").gauge().value());
+        assertEquals(2, meterRegistry.get("extraction.service.time").tag("source_type", "TEXT").timer().count());
+    }
+
+    private ExtractionService service(int workers, int queueCapacity) {
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+
+        ExtractionService service = new ExtractionService(mock(PdfService.class), mock(OcrService.class),
+                mock(DocxService.class), mock(PptxService.class), textFileService, executor, meterRegistry);
+        ReflectionTestUtils.setField(service, "maxTextLength", 1000);
+        ReflectionTestUtils.setField(service, "retryAfterSeconds", 7L);
+        service.registerMetrics();
+        return service;
+    }
+
+    private MockMultipartFile upload() {
+        return new MockMultipartFile("file", "notes.txt", "text/plain", "notes".getBytes());
+    }
+}
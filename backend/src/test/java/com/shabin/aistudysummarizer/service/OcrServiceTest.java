@@ -0,0 +1,62 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.ocr.ImagePreprocessor;
+import com.shabin.aistudysummarizer.ocr.ImageTiler;
+import com.shabin.aistudysummarizer.ocr.TesseractEngine;
+import com.shabin.aistudysummarizer.ocr.TesseractEnginePool;
+import com.shabin.aistudysummarizer.ocr.TextBlock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OcrServiceTest {
+
+    private final TesseractEngine fastEngine = mock(TesseractEngine.class);
+    private final TesseractEngine accurateEngine = mock(TesseractEngine.class);
+
+    @Test
+    void rereadsOnlyLowConfidenceParagraph() {
+        BufferedImage page = new BufferedImage(1000, 600, BufferedImage.TYPE_BYTE_GRAY);
+        when(fastEngine.recognizeBlocks(page)).thenReturn(List.of(
+                new TextBlock("Graph traversal", 95, new Rectangle(50, 20, 900, 40)),
+                new TextBlock("Brea1th f1rst se@rch", 41, new Rectangle(50, 100, 900, 200)),
+                new TextBlock("Depth first search uses a stack.", 92, new Rectangle(50, 350, 900, 200))));
+        when(accurateEngine.recognize(any())).thenReturn("Breadth first search uses a queue.");
+
+        String text = service().extractText(page);
+
+        assertEquals("Graph traversal Breadth first search uses a queue. Depth first search uses a stack.", text);
+        verify(accurateEngine, times(1)).recognize(any());
+        verify(accurateEngine).recognize(argThat(crop -> crop.getWidth() == 916 && crop.getHeight() == 216));
+    }
+
+    private OcrService service() {
+        OcrService service = new OcrService(pool(fastEngine), pool(accurateEngine), new ImagePreprocessor(),
+                new ImageTiler(), mock(ThreadPoolTaskExecutor.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "escalationEnabled", true);
+        ReflectionTestUtils.setField(service, "minConfidence", 70f);
+        return service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TesseractEnginePool pool(TesseractEngine engine) {
+        TesseractEnginePool pool = mock(TesseractEnginePool.class);
+        when(pool.execute(any())).thenAnswer(invocation ->
+                invocation.<Function<TesseractEngine, Object>>getArgument(0).apply(engine));
+        return pool;
+    }
+}
@@ -0,0 +1,196 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.ocr.ImagePreprocessor;
+import com.shabin.aistudysummarizer.ocr.ImageTiler;
+import com.shabin.aistudysummarizer.ocr.TesseractEnginePool;
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PdfServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfServiceTest.class);
+    private static final int PAGES = 120;
+
+    private static Path pdf;
+
+    @BeforeAll
+    static void createPdf() throws IOException {
+        pdf = Files.createTempFile("pdf-service-test-", ".pdf");
+        pdf.toFile().deleteOnExit();
+        try (PDDocument document = new PDDocument()) {
+            for (int page = 1; page <= PAGES; page++) {
+                PDPage pdPage = new PDPage();
+                document.addPage(pdPage);
+                try (PDPageContentStream stream = new PDPageContentStream(document, pdPage)) {
+                    stream.beginText();
+                    stream.setFont(PDType1Font.HELVETICA, 11);
+                    stream.newLineAtOffset(50, 700);
+                    for (int line = 0; line < 40; line++) {
+                        stream.showText("Page " + page + " line " + line + " about sorting and searching");
+                        stream.newLineAtOffset(0, -14);
+                    }
+                    stream.endText();
+                }
+            }
+            document.save(pdf.toFile());
+        }
+    }
+
+    @Test
+    void parallelRangesMatchSequentialExtraction() throws IOException {
+        String sequential = extractWith(1);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        String parallel = extractWith(Math.max(2, cores));
+
+        assertEquals(sequential, parallel);
+        assertTrue(parallel.contains("Page " + PAGES + " line 39"));
+    }
+
+    @Test
+    void stopsExtractingPagesOnceBudgetIsReached() throws IOException {
+        String firstPage = extractWith(1).split("\f")[0];
+
+        List<String> pages = extractPagesWith(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                firstPage.length() * 3);
+
+        assertTrue(pages.size() >= 3 && pages.size() < PAGES, "extracted " + pages.size() + " pages");
+        assertTrue(pages.get(0).contains("Page 1 line 0"));
+    }
+
+    /**
+     * Throughput of one range against one range per core. Timing depends on the machine, so this
+     * runs only when asked for, e.g. {@code -Dtest.benchmark=true}, on a machine with several cores.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "test.benchmark", matches = "true")
+    void parallelRangesOutperformSingleRange() throws IOException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        assumeTrue(cores > 1, "needs more than one core");
+
+        double single = pagesPerSecond(1);
+        double parallel = pagesPerSecond(cores);
+
+        log.info("PDF extraction of {} pages: {} pages/s with one range, {} pages/s with {} ranges ({}x)",
+                PAGES, Math.round(single), Math.round(parallel), cores, String.format("%.2f", parallel / single));
+        assertTrue(parallel > single * 1.2, "parallel ranges should beat a single range");
+    }
+
+    @Test
+    void ocrsScannedPageAfterPageWithoutContentStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PDDocument document = new PDDocument()) {
+            addTextPage(document, "Introduction to graph search algorithms and their uses");
+            document.addPage(new PDPage());  // Blank page without a content stream
+            PDPage scanned = new PDPage(PDRectangle.A5);
+            document.addPage(scanned);
+            try (PDPageContentStream stream = new PDPageContentStream(document, scanned)) {
+                stream.addRect(50, 50, 100, 100);
+                stream.fill();
+            }
+            addTextPage(document, "Closing remarks on shortest path algorithms and heuristics");
+            document.save(bytes);
+        }
+
+        // Only the A5 page is the scan; the blank letter-size page must not be rendered in its place
+        OcrService ocrService = mock(OcrService.class);
+        when(ocrService.extractText(any(BufferedImage.class))).thenAnswer(invocation -> {
+            BufferedImage image = invocation.getArgument(0);
+            return image.getWidth() < 1000 ? "Scanned lecture notes on breadth first search" : "";
+        });
+        ThreadPoolTaskExecutor executor = executor(2);
+        try {
+            PdfService service = new PdfService(executor, ocrService);
+            ReflectionTestUtils.setField(service, "minPagesPerRange", 8);
+            ReflectionTestUtils.setField(service, "maxMainMemoryBytes", 1024 * 1024L);
+            ReflectionTestUtils.setField(service, "ocrEnabled", true);
+            ReflectionTestUtils.setField(service, "ocrMinChars", 25);
+            ReflectionTestUtils.setField(service, "ocrDpi", 150f);
+
+            String text = service.extractText(new MockMultipartFile("file", "notes.pdf", "application/pdf",
+                    bytes.toByteArray()), new BoundedTextSink(100_000));
+
+            assertTrue(text.matches("Introduction .* Scanned .* Closing .*"), text);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void addTextPage(PDDocument document, String text) throws IOException {
+        PDPage page = new PDPage();
+        document.addPage(page);
+        try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+            stream.beginText();
+            stream.setFont(PDType1Font.HELVETICA, 11);
+            stream.newLineAtOffset(50, 700);
+            stream.showText(text);
+            stream.endText();
+        }
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Best of several runs after a warm-up, so class loading and font caches do not count
+     */
+    private double pagesPerSecond(int threads) throws IOException {
+        extractWith(threads);
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            extractWith(threads);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return PAGES * 1e9 / best;
+    }
+
+    private String extractWith(int threads) throws IOException {
+        return String.join("\f", extractPagesWith(threads, Integer.MAX_VALUE));
+    }
+
+    private List<String> extractPagesWith(int threads, int charBudget) throws IOException {
+        ThreadPoolTaskExecutor executor = executor(threads);
+        try {
+            PdfService service = new PdfService(executor, new OcrService(mock(TesseractEnginePool.class), mock(TesseractEnginePool.class),
+                    new ImagePreprocessor(), new ImageTiler(), executor, new SimpleMeterRegistry()));
+            ReflectionTestUtils.setField(service, "minPagesPerRange", 8);
+            ReflectionTestUtils.setField(service, "maxMainMemoryBytes", 1024 * 1024L);
+            return service.extractPages(pdf, PAGES, charBudget);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.util.BoundedTextSink;
+import org.apache.poi.sl.usermodel.Placeholder;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFGroupShape;
+import org.apache.poi.xslf.usermodel.XSLFNotes;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTable;
+import org.apache.poi.xslf.usermodel.XSLFTableRow;
+import org.apache.poi.xslf.usermodel.XSLFTextShape;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.Rectangle;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PptxServiceTest {
+
+    private final ThreadPoolTaskExecutor executor = executor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void extractsSlidesGroupsTablesAndNotesInOrder() throws IOException {
+        PptxService service = service(true);
+
+        String text = service.extractText(pptx(), new BoundedTextSink(1_000_000));
+
+        assertTrue(text.startsWith("--- Slide 1 ---\nSorting algorithms"), text);
+        assertTrue(text.contains("Grouped caption"), text);
+        assertTrue(text.contains("Speaker notes:\nMention stability"), text);
+        assertTrue(text.contains("Algorithm | Cost |"), text);
+        assertTrue(text.contains("Merge sort | n log n |"), text);
+        assertTrue(text.indexOf("--- Slide 1 ---") < text.indexOf("--- Slide 2 ---"), text);
+        assertTrue(text.indexOf("Mention stability") < text.indexOf("--- Slide 2 ---"), text);
+    }
+
+    @Test
+    void omitsNotesWhenDisabled() throws IOException {
+        PptxService service = service(false);
+
+        String text = service.extractText(pptx(), new BoundedTextSink(1_000_000));
+
+        assertFalse(text.contains("Mention stability"), text);
+        assertTrue(text.contains("Grouped caption"), text);
+    }
+
+    @Test
+    void skipsSlidesPastTextLimit() throws IOException {
+        PptxService service = service(true);
+        BoundedTextSink sink = new BoundedTextSink(20);
+
+        String text = service.extractText(pptx(), sink);
+
+        assertTrue(sink.isTruncated());
+        assertTrue(text.length() <= 20, text);
+        assertFalse(text.contains("Slide 2"), text);
+    }
+
+    @Test
+    void rejectsPartThatInflatesLikeAZipBomb() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("ppt/_rels/presentation.xml.rels"));
+            zip.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    .getBytes(StandardCharsets.UTF_8));
+            byte[] filler = " ".repeat(1024 * 1024).getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < 20; i++) {
+                zip.write(filler);
+            }
+            zip.write("</Relationships>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        MockMultipartFile bomb = new MockMultipartFile("file", "bomb.pptx", null, out.toByteArray());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> service(true).extractText(bomb, new BoundedTextSink(1_000_000)));
+
+        assertTrue(e.getMessage().contains("Zip bomb"), e.getMessage());
+    }
+
+    private PptxService service(boolean includeNotes) {
+        PptxService service = new PptxService(executor);
+        ReflectionTestUtils.setField(service, "includeNotes", includeNotes);
+        return service;
+    }
+
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.initialize();
+        return executor;
+    }
+
+    private MockMultipartFile pptx() throws IOException {
+        try (XMLSlideShow show = new XMLSlideShow(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            XSLFSlide first = show.createSlide();
+            first.createTextBox().setText("Sorting algorithms");
+            XSLFGroupShape group = first.createGroup();
+            group.createTextBox().setText("Grouped caption");
+            XSLFNotes notes = show.getNotesSlide(first);
+            for (XSLFTextShape placeholder : notes.getPlaceholders()) {
+                if (placeholder.getTextType() == Placeholder.BODY) {
+                    placeholder.setText("Mention stability");
+                }
+            }
+
+            XSLFSlide second = show.createSlide();
+            XSLFTable table = second.createTable();
+            table.setAnchor(new Rectangle(50, 50, 400, 100));
+            XSLFTableRow header = table.addRow();
+            header.addCell().setText("Algorithm");
+            header.addCell().setText("Cost");
+            XSLFTableRow row = table.addRow();
+            row.addCell().setText("Merge sort");
+            row.addCell().setText("n log n");
+
+            show.write(out);
+            return new MockMultipartFile("file", "lecture.pptx",
+                    "application/vnd.openxmlformats-officedocument.presentationml.presentation", out.toByteArray());
+        }
+    }
+}
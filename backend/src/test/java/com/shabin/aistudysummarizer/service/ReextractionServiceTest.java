@@ -0,0 +1,102 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.blob.BlobStore;
+import com.shabin.aistudysummarizer.dto.document.ReextractionStatus;
+import com.shabin.aistudysummarizer.entity.DocumentContent;
+import com.shabin.aistudysummarizer.entity.SourceType;
+import com.shabin.aistudysummarizer.repository.DocumentContentRepository;
+import com.shabin.aistudysummarizer.repository.DocumentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReextractionServiceTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String MISSING_HASH = "b".repeat(64);
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final DocumentContentRepository contentRepository = mock(DocumentContentRepository.class);
+    private final BlobStore blobStore = mock(BlobStore.class);
+    private final ExtractionService extractionService = mock(ExtractionService.class);
+
+    private ReextractionService service;
+
+    @BeforeEach
+    void setUp() {
+        // Run the job on the calling thread
+        service = new ReextractionService(documentRepository, contentRepository, blobStore, extractionService,
+                Runnable::run);
+        ReflectionTestUtils.setField(service, "batchSize", 50);
+    }
+
+    @Test
+    void extractsSharedContentOnceAndCountsFailures() throws Exception {
+        UUID sharedId = new UUID(0, 1);
+        UUID missingId = new UUID(0, 2);
+        when(documentRepository.findReextractionCandidates(new UUID(0, 0), SourceType.PDF, Limit.of(50)))
+                .thenReturn(List.of(candidate(sharedId, HASH), candidate(sharedId, HASH),
+                        candidate(missingId, MISSING_HASH)));
+        when(blobStore.read(HASH)).thenReturn(ByteBuffer.wrap("%PDF-1.7".getBytes(StandardCharsets.US_ASCII)));
+        when(blobStore.read(MISSING_HASH)).thenThrow(new NoSuchFileException(MISSING_HASH));
+        when(extractionService.extract(any(), eq(SourceType.PDF)))
+                .thenReturn(new ExtractionService.Result("Better text", false, 12));
+        DocumentContent content = DocumentContent.builder().id(sharedId).extractedText("Old text").build();
+        when(contentRepository.findById(sharedId)).thenReturn(Optional.of(content));
+
+        service.start(SourceType.PDF);
+
+        verify(extractionService, times(1)).extract(any(), eq(SourceType.PDF));
+        assertEquals("Better text", content.getExtractedText());
+        verify(contentRepository).save(content);
+        verify(documentRepository).updateTextTruncatedByContentId(sharedId, false);
+
+        ReextractionStatus status = service.getStatus();
+        assertFalse(status.isRunning());
+        assertEquals(1, status.getProcessed());
+        assertEquals(1, status.getFailed());
+        assertNotNull(status.getFinishedAt());
+    }
+
+    private DocumentRepository.ReextractionCandidate candidate(UUID contentId, String blobHash) {
+        return new DocumentRepository.ReextractionCandidate() {
+            @Override
+            public UUID getContentId() {
+                return contentId;
+            }
+
+            @Override
+            public String getBlobHash() {
+                return blobHash;
+            }
+
+            @Override
+            public String getOriginalFilename() {
+                return "graphs.pdf";
+            }
+
+            @Override
+            public SourceType getSourceType() {
+                return SourceType.PDF;
+            }
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.dto.document.DocumentUploadResponse;
+import com.shabin.aistudysummarizer.dto.document.UploadSessionRequest;
+import com.shabin.aistudysummarizer.dto.document.UploadSessionResponse;
+import com.shabin.aistudysummarizer.exception.EntityNotFoundException;
+import com.shabin.aistudysummarizer.exception.UploadLimitException;
+import com.shabin.aistudysummarizer.exception.UploadOffsetException;
+import com.shabin.aistudysummarizer.exception.UploadSessionBusyException;
+import com.shabin.aistudysummarizer.exception.ValidationException;
+import com.shabin.aistudysummarizer.upload.ContentRange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumableUploadServiceTest {
+
+    private static final byte[] NOTES = "Dijkstra finds shortest paths in weighted graphs".getBytes(StandardCharsets.UTF_8);
+
+    private final DocumentService documentService = mock(DocumentService.class);
+
+    private ResumableUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        authenticate("student@example.com");
+
+        DocumentValidationService validationService = new DocumentValidationService();
+        ReflectionTestUtils.setField(validationService, "maxFileSize", 1024L);
+
+        service = new ResumableUploadService(documentService, validationService);
+        ReflectionTestUtils.setField(service, "sessionTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(service, "maxSessionsPerUser", 2);
+        ReflectionTestUtils.setField(service, "maxReservedBytesPerUser", 1024L);
+        ReflectionTestUtils.setField(service, "tempDir", "");
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resumesFromReceivedBytesAfterInterruptedChunk() throws Exception {
+        UploadSessionResponse session = service.createSession(request());
+
+        // Connection drops after 10 of 20 bytes of the first range
+        UploadSessionResponse afterDrop = service.appendChunk(session.getUploadId(), chunk(0, 20), failingAfter(10));
+        assertEquals(10, afterDrop.getReceivedBytes());
+
+        assertThrows(UploadOffsetException.class, () ->
+                service.appendChunk(session.getUploadId(), chunk(20, NOTES.length), range(20, NOTES.length)));
+
+        service.appendChunk(session.getUploadId(), chunk(10, NOTES.length), range(10, NOTES.length));
+
+        AtomicReference<byte[]> extracted = new AtomicReference<>();
+        when(documentService.uploadDocument(any(), eq("Graph notes"), isNull())).thenAnswer(invocation -> {
+            extracted.set(invocation.<MultipartFile>getArgument(0).getBytes());
+            return CompletableFuture.completedFuture(DocumentUploadResponse.builder().title("Graph notes").build());
+        });
+
+        assertEquals("Graph notes", service.complete(session.getUploadId()).get().getTitle());
+        assertArrayEquals(NOTES, extracted.get());
+        assertThrows(EntityNotFoundException.class, () -> service.getSession(session.getUploadId()));
+    }
+
+    @Test
+    void refusesToCompleteWithMissingBytes() {
+        UploadSessionResponse session = service.createSession(request());
+        service.appendChunk(session.getUploadId(), chunk(0, 10), range(0, 10));
+
+        assertThrows(ValidationException.class, () -> service.complete(session.getUploadId()));
+        assertEquals(10, service.getSession(session.getUploadId()).getReceivedBytes());
+    }
+
+    @Test
+    void hidesSessionsOfOtherUsers() {
+        UploadSessionResponse session = service.createSession(request());
+
+        authenticate("other@example.com");
+
+        assertThrows(EntityNotFoundException.class, () -> service.getSession(session.getUploadId()));
+    }
+
+    @Test
+    void rejectsRangeForDifferentFileSize() {
+        UploadSessionResponse session = service.createSession(request());
+
+        assertThrows(ValidationException.class, () -> service.appendChunk(session.getUploadId(),
+                new ContentRange(0, 10, NOTES.length + 100L), range(0, 10)));
+        assertEquals(0, service.getSession(session.getUploadId()).getReceivedBytes());
+    }
+
+    @Test
+    void limitsUploadsInProgressPerUser() {
+        service.createSession(request());
+        UploadSessionResponse second = service.createSession(request());
+
+        assertThrows(UploadLimitException.class, () -> service.createSession(request()));
+        assertThrows(UploadLimitException.class, () -> service.createSession(
+                UploadSessionRequest.builder().filename("big.txt").title("Big").size(1024).build()));
+
+        authenticate("other@example.com");
+        service.createSession(request());
+
+        authenticate("student@example.com");
+        service.cancel(second.getUploadId());
+        service.createSession(request());
+    }
+
+    @Test
+    void stalledChunkDoesNotBlockOtherRequests() throws Exception {
+        ReflectionTestUtils.setField(service, "sessionTtlSeconds", 0L);
+        UploadSessionResponse stalled = service.createSession(request());
+        UploadSessionResponse idle = service.createSession(request());
+
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread writer = new Thread(new DelegatingSecurityContextRunnable(() -> service.appendChunk(stalled.getUploadId(), chunk(0, NOTES.length),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        reading.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        throw new IOException("Connection reset");
+                    }
+                })));
+        writer.start();
+        try {
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+            // Runs on its own thread, so a request blocked behind the stalled chunk fails the test
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                authenticate("student@example.com");
+                service.removeExpiredSessions();
+                assertThrows(UploadSessionBusyException.class, () -> service.cancel(stalled.getUploadId()));
+            });
+            assertThrows(EntityNotFoundException.class, () -> service.getSession(idle.getUploadId()));
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+        assertEquals(0, service.getSession(stalled.getUploadId()).getReceivedBytes());
+    }
+
+    private ContentRange chunk(int from, int to) {
+        return new ContentRange(from, to - from, (long) NOTES.length);
+    }
+
+    private UploadSessionRequest request() {
+        return UploadSessionRequest.builder().filename("graphs.txt").title("Graph notes").size(NOTES.length).build();
+    }
+
+    private InputStream range(int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(NOTES, from, to));
+    }
+
+    /**
+     * Body that delivers the first bytes of the file and then fails like a dropped connection
+     */
+    private InputStream failingAfter(int bytes) {
+        return new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position == bytes) {
+                    throw new IOException("Connection reset");
+                }
+                return NOTES[position++];
+            }
+        };
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null));
+    }
+}
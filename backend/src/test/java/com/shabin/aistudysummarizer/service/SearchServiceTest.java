@@ -0,0 +1,101 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.dto.search.SearchResult;
+import com.shabin.aistudysummarizer.exception.ValidationException;
+import com.shabin.aistudysummarizer.repository.DocumentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchServiceTest {
+
+    private static final String EMAIL = "student@example.com";
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+
+    private SearchService service;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(EMAIL, null));
+        service = new SearchService(documentRepository);
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void mapsRankedHitsOfCurrentUser() {
+        UUID documentId = UUID.randomUUID();
+        DocumentRepository.SearchHit hit = hit("DOCUMENT", documentId, "Graph notes", 0.6);
+        when(documentRepository.search(EMAIL, "shortest path", PageRequest.of(1, 10)))
+                .thenReturn(new SliceImpl<>(List.of(hit), PageRequest.of(1, 10), true));
+
+        Slice<SearchResult> results = service.search("  shortest path ", 1, 10);
+
+        SearchResult result = results.getContent().get(0);
+        assertEquals(SearchResult.Type.DOCUMENT, result.getType());
+        assertEquals(documentId, result.getDocumentId());
+        assertNull(result.getSummaryId());
+        assertEquals(0.6, result.getRank());
+        assertTrue(results.hasNext());
+    }
+
+    @Test
+    void rejectsBlankQueryWithoutSearching() {
+        assertThrows(ValidationException.class, () -> service.search(" ", 0, 10));
+        verify(documentRepository, never()).search(anyString(), anyString(), any());
+    }
+
+    private DocumentRepository.SearchHit hit(String type, UUID documentId, String title, double rank) {
+        return new DocumentRepository.SearchHit() {
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Override
+            public UUID getDocumentId() {
+                return documentId;
+            }
+
+            @Override
+            public UUID getSummaryId() {
+                return null;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public double getRank() {
+                return rank;
+            }
+        };
+    }
+}
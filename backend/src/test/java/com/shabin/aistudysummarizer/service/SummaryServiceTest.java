@@ -0,0 +1,178 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shabin.aistudysummarizer.dto.CursorPage;
+import com.shabin.aistudysummarizer.dto.summary.SummaryContent;
+import com.shabin.aistudysummarizer.dto.summary.SummaryItemsResponse;
+import com.shabin.aistudysummarizer.dto.summary.SummaryListResponse;
+import com.shabin.aistudysummarizer.entity.Document;
+import com.shabin.aistudysummarizer.entity.DocumentContent;
+import com.shabin.aistudysummarizer.entity.Summary;
+import com.shabin.aistudysummarizer.exception.EntityNotFoundException;
+import com.shabin.aistudysummarizer.exception.ValidationException;
+import com.shabin.aistudysummarizer.repository.DocumentRepository;
+import com.shabin.aistudysummarizer.repository.SummaryRepository;
+import org.json.JSONArray;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SummaryServiceTest {
+
+    private static final String EMAIL = "student@example.com";
+    private static final String NEW_MCQS = """
+            [{"question": "Which structure does Dijkstra use?", "options": ["Stack", "Priority queue", "Trie", "Heap sort"],
+              "answer": "Priority queue", "explanation": "It repeatedly extracts the closest vertex."}]
+            """;
+
+    private final SummaryRepository summaryRepository = mock(SummaryRepository.class);
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final UUID summaryId = UUID.randomUUID();
+
+    private SummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(EMAIL, null));
+        service = new SummaryService(summaryRepository, mock(DocumentRepository.class), geminiService,
+                new ObjectMapper());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachesSummaryPerOwner() {
+        Summary summary = Summary.builder()
+                .id(summaryId)
+                .document(Document.builder().id(UUID.randomUUID()).title("Graphs").build())
+                .summaryJson("{\"executiveSummary\":\"Shortest paths\"}")
+                .modelUsed("gemini-2.5-flash")
+                .build();
+        when(summaryRepository.findWithDocumentByIdAndUserEmail(summaryId, EMAIL)).thenReturn(Optional.of(summary));
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.register(CachingConfig.class);
+            context.registerBean(ISummaryService.class, () -> service);
+            context.refresh();
+            ISummaryService cached = context.getBean(ISummaryService.class);
+
+            assertEquals("Graphs", cached.getSummaryById(summaryId).getDocumentTitle());
+            cached.getSummaryById(summaryId);
+            verify(summaryRepository, times(1)).findWithDocumentByIdAndUserEmail(summaryId, EMAIL);
+
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken("other@example.com", null));
+            assertThrows(EntityNotFoundException.class, () -> cached.getSummaryById(summaryId));
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+
+    @Test
+    void appendsOnlyNewMcqsAndReturnsCounts() {
+        Document document = Document.builder()
+                .content(DocumentContent.builder().extractedText("Dijkstra finds shortest paths").build())
+                .build();
+        when(summaryRepository.findDocumentByIdAndUserEmail(summaryId, EMAIL)).thenReturn(Optional.of(document));
+        when(geminiService.generateMoreMcqs("Dijkstra finds shortest paths")).thenReturn(NEW_MCQS);
+        when(summaryRepository.appendItems(summaryId, EMAIL, "mcqs", new JSONArray(NEW_MCQS).toString()))
+                .thenReturn(Optional.of(counts(11, 8)));
+
+        SummaryItemsResponse<SummaryContent.Mcq> response = service.generateMoreMcqs(summaryId);
+
+        assertEquals(1, response.getAdded().size());
+        assertEquals("Priority queue", response.getAdded().get(0).getAnswer());
+        assertEquals(11, response.getMcqCount());
+        assertEquals(8, response.getFlashcardCount());
+    }
+
+    @Test
+    void rejectsSummaryOfAnotherUserBeforeGenerating() {
+        when(summaryRepository.findDocumentByIdAndUserEmail(summaryId, EMAIL)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.generateMoreFlashcards(summaryId));
+        verify(geminiService, never()).generateMoreFlashcards(anyString());
+    }
+
+    @Test
+    void continuesScrollingAfterLastEntryOfSlice() {
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+        SummaryListResponse newest = entry(LocalDateTime.of(2026, 3, 2, 9, 0));
+        SummaryListResponse older = entry(LocalDateTime.of(2026, 3, 1, 9, 0));
+        SummaryListResponse oldest = entry(LocalDateTime.of(2026, 2, 28, 9, 0));
+        when(summaryRepository.findListByUserEmail(EMAIL, Limit.of(3))).thenReturn(List.of(newest, older, oldest));
+
+        CursorPage<SummaryListResponse> first = service.getUserSummaries(null, 2, false);
+
+        assertEquals(List.of(newest, older), first.getContent());
+        assertTrue(first.isHasNext());
+        assertNull(first.getTotalElements());
+
+        when(summaryRepository.findListByUserEmailBefore(EMAIL, older.getCreatedAt(), older.getId(), Limit.of(3)))
+                .thenReturn(List.of(oldest));
+        when(summaryRepository.countByUserEmail(EMAIL)).thenReturn(3L);
+
+        CursorPage<SummaryListResponse> second = service.getUserSummaries(first.getNextCursor(), 2, true);
+
+        assertEquals(List.of(oldest), second.getContent());
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+        assertEquals(3L, second.getTotalElements());
+        assertThrows(ValidationException.class, () -> service.getUserSummaries("not-a-cursor", 2, false));
+    }
+
+    private SummaryListResponse entry(LocalDateTime createdAt) {
+        return SummaryListResponse.builder().id(UUID.randomUUID()).createdAt(createdAt).build();
+    }
+
+    private SummaryRepository.ItemCounts counts(int mcqs, int flashcards) {
+        return new SummaryRepository.ItemCounts() {
+            @Override
+            public int getMcqCount() {
+                return mcqs;
+            }
+
+            @Override
+            public int getFlashcardCount() {
+                return flashcards;
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.shabin.aistudysummarizer.service;
+
+import com.shabin.aistudysummarizer.scraping.UrlContentCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebScrapingServiceTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private volatile String etag = "\"v1\"";
+    private volatile String body = "Binary search halves the interval";
+
+    private HttpServer server;
+    private String url;
+    private UrlContentCache cache;
+    private WebScrapingService service;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/article", this::handle);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/article";
+
+        cache = new UrlContentCache(2, meterRegistry);
+        service = new WebScrapingService(cache);
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void servesFreshEntriesWithoutContactingOrigin() {
+        ReflectionTestUtils.setField(cache, "freshTtlSeconds", 300L);
+
+        String first = service.scrapeUrl(url);
+        String second = service.scrapeUrl(url);
+
+        assertEquals(first, second);
+        assertEquals(1, requests.get());
+        assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    void revalidatesStaleEntriesWithConditionalGet() {
+        ReflectionTestUtils.setField(cache, "freshTtlSeconds", 0L);
+
+        String first = service.scrapeUrl(url);
+        String second = service.scrapeUrl(url);
+
+        assertEquals(first, second);
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+        assertEquals(1.0, count("revalidated"));
+    }
+
+    @Test
+    void refetchesWhenPageChanged() {
+        ReflectionTestUtils.setField(cache, "freshTtlSeconds", 0L);
+        service.scrapeUrl(url);
+
+        etag = "\"v2\"";
+        body = "Interpolation search guesses the position";
+        String text = service.scrapeUrl(url);
+
+        assertTrue(text.contains("Interpolation search"), text);
+        assertEquals(1.0, count("changed"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntries() {
+        ReflectionTestUtils.setField(cache, "freshTtlSeconds", 300L);
+
+        service.scrapeUrl(url);
+        service.scrapeUrl(url + "?page=2");
+        service.scrapeUrl(url + "?page=3");
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(url));
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("scraping.cache.requests", "result", result).count();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        byte[] html = ("<html><head><title>Searching</title></head><body><article>" + body
+                + "</article></body></html>").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.getResponseHeaders().add("ETag", etag);
+        exchange.sendResponseHeaders(200, html.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(html);
+        }
+    }
+}
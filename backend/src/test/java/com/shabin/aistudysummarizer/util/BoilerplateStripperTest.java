@@ -0,0 +1,57 @@
+package com.shabin.aistudysummarizer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoilerplateStripperTest {
+
+    @Test
+    void removesRunningFootersAndPageNumbers() {
+        List<String> pages = List.of(
+                "CS101 Lecture 4\nSorting algorithms compare keys.\nPage 1 of 3",
+                "CS101 Lecture 4\nMerge sort splits the input in half.\nPage 2 of 3",
+                "CS101 Lecture 4\nQuicksort partitions around a pivot.\n© 2024 University\nPage 3 of 3");
+
+        BoilerplateStripper.Result result = BoilerplateStripper.strip(pages);
+
+        String text = String.join("\n", result.pages());
+        assertFalse(text.contains("CS101 Lecture 4"));
+        assertFalse(text.contains("Page 2 of 3"));
+        assertFalse(text.contains("University"));
+        assertTrue(text.contains("Merge sort splits the input in half."));
+        assertEquals(3 * "Page 1 of 3".length(),
+                result.removedByStage().get(BoilerplateStripper.STAGE_PAGE_NUMBERS));
+        assertEquals(3 * "CS101 Lecture 4".length(),
+                result.removedByStage().get(BoilerplateStripper.STAGE_REPEATED_LINES));
+    }
+
+    @Test
+    void keepsRepeatedLinesInShortDocuments() {
+        List<String> pages = List.of("Definition\nA heap is a tree.", "Definition\nA stack is LIFO.");
+
+        BoilerplateStripper.Result result = BoilerplateStripper.strip(pages);
+
+        assertEquals(0, result.totalRemoved());
+        assertEquals(pages, result.pages());
+    }
+
+    @Test
+    void keepsNumeralsAndRecurringHeadingsInPageBody() {
+        List<String> pages = List.of(
+                "Algorithms\nLecture 4\nSorting\nExample\nI\nv\n42\nx\nMerge sort is stable.\nNotes\nPage 1",
+                "Algorithms\nLecture 4\nSearching\nExample\n17\nBinary search halves the range.\nNotes\nPage 2",
+                "Algorithms\nLecture 4\nGraphs\nExample\nii\nDijkstra needs non-negative weights.\nNotes\nPage 3");
+
+        BoilerplateStripper.Result result = BoilerplateStripper.strip(pages);
+
+        List<String> first = List.of(result.pages().get(0).split("\n"));
+        assertEquals(List.of("Sorting", "Example", "I", "v", "42", "x", "Merge sort is stable."), first);
+        assertTrue(result.pages().get(1).contains("Example\n17\n"));
+        assertTrue(result.pages().get(2).contains("Example\nii\n"));
+    }
+}
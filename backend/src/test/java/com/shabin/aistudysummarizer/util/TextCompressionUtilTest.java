@@ -0,0 +1,59 @@
+package com.shabin.aistudysummarizer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextCompressionUtilTest {
+
+    private static final String[] WORDS = {
+            "the", "graph", "algorithm", "shortest", "path", "vertex", "edge", "weight", "queue", "priority",
+            "Dijkstra", "relaxation", "distance", "of", "and", "a", "is", "to", "in", "each", "node", "tree",
+            "spanning", "minimum", "Kruskal", "Prim", "complexity", "O(E log V)", "négatif", "数据结构"
+    };
+
+    @Test
+    void roundTripsLongTextCompressed() {
+        String text = lectureNotes(200_000);
+
+        byte[] encoded = TextCompressionUtil.compress(text);
+
+        assertEquals(TextCompressionUtil.FORMAT_DEFLATE, encoded[0]);
+        assertEquals(text, TextCompressionUtil.decompress(encoded));
+        int utf8Length = text.getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(encoded.length * 2 < utf8Length,
+                "Expected at least 2x compression, got " + utf8Length + " -> " + encoded.length + " bytes");
+    }
+
+    @Test
+    void storesShortTextUncompressed() {
+        byte[] encoded = TextCompressionUtil.compress("{\"title\":\"Graphs\"}");
+
+        assertEquals(TextCompressionUtil.FORMAT_UTF8, encoded[0]);
+        assertEquals("{\"title\":\"Graphs\"}", TextCompressionUtil.decompress(encoded));
+    }
+
+    @Test
+    void readsLegacyUncompressedRows() {
+        String json = "{\"executive_summary\":\"Shortest paths\",\"mcqs\":[]}";
+
+        assertEquals(json, TextCompressionUtil.decompress(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("", TextCompressionUtil.decompress(new byte[0]));
+        assertNull(TextCompressionUtil.decompress(null));
+        assertNull(TextCompressionUtil.compress(null));
+    }
+
+    private String lectureNotes(int length) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(length + 32);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return text.toString().trim();
+    }
+}
@@ -13,6 +13,8 @@ const Dashboard = () => {
     const [error, setError] = useState('');
     const [deleteConfirm, setDeleteConfirm] = useState(null); // Track which summary to delete
     const [deleting, setDeleting] = useState(false);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
 
     useEffect(() => {
         fetchSummaries();
@@ -21,8 +23,9 @@ const Dashboard = () => {
     const fetchSummaries = async () => {
         try {
             setLoading(true);
-            const data = await summaryService.getAllSummaries();
-            setSummaries(data);
+            const slice = await summaryService.scrollSummaries();
+            setSummaries(slice.content);
+            setNextCursor(slice.hasNext ? slice.nextCursor : null);
         } catch (err) {
             setError('Failed to load summaries');
             console.error(err);
@@ -31,6 +34,20 @@ const Dashboard = () => {
         }
     };
 
+    const loadMoreSummaries = async () => {
+        try {
+            setLoadingMore(true);
+            const slice = await summaryService.scrollSummaries(nextCursor);
+            setSummaries(prev => [...prev, ...slice.content]);
+            setNextCursor(slice.hasNext ? slice.nextCursor : null);
+        } catch (err) {
+            setError('Failed to load summaries');
+            console.error(err);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleDeleteSummary = async (summaryId) => {
         try {
             setDeleting(true);
@@ -139,8 +156,9 @@ const Dashboard = () => {
                                                     {summary.documentTitle || 'Untitled Document'}
                                                 </h3>
 
-                                                <p className="text-gray-400 text-sm mb-6 line-clamp-3 leading-relaxed flex-grow">
-                                                    {summary.content?.executiveSummary || 'No summary preview available.'}
+                                                <p className="text-gray-400 text-sm mb-6 leading-relaxed flex-grow">
+                                                    {summary.mcqCount} MCQs · {summary.flashcardCount} flashcards
+                                                    {summary.modelUsed && <span className="block text-xs text-gray-500 mt-1">{summary.modelUsed}</span>}
                                                 </p>
 
                                                 <div className="flex items-center text-sm font-medium text-neon-purple group-hover:text-neon-pink transition-colors mt-auto">
@@ -168,6 +186,14 @@ const Dashboard = () => {
                             ))}
                         </div>
 
+                        {nextCursor && (
+                            <div className="mt-10 text-center">
+                                <Button variant="secondary" onClick={loadMoreSummaries} disabled={loadingMore}>
+                                    {loadingMore ? 'Loading...' : 'Load more'}
+                                </Button>
+                            </div>
+                        )}
+
                         {/* Delete Confirmation Modal */}
                         {deleteConfirm && (
                             <div className="fixed inset-0 bg-black/50 backdrop-blur-sm flex items-center justify-center z-50 p-4">
@@ -72,7 +72,19 @@ const Results = () => {
             setGenerateError('');
             const endpointType = type === 'summary' ? 'content' : type;
             const response = await api.post(`/v1/summaries/${id}/${endpointType}`);
-            setSummary(response.data.data || response.data);
+            const data = response.data.data || response.data;
+            if (type === 'summary') {
+                setSummary(data);
+            } else {
+                // MCQ and flashcard endpoints return only the newly added items
+                setSummary((prev) => ({
+                    ...prev,
+                    content: {
+                        ...prev.content,
+                        [type]: [...(prev.content?.[type] || []), ...data.added],
+                    },
+                }));
+            }
         } catch (err) {
             setGenerateError(`Error generating more ${type}: ${err.message}`);
             console.error(err);
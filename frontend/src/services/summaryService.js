@@ -14,6 +14,19 @@ export const summaryService = {
         }
     },
 
+    // Get the next slice of the current user's summaries, newest first
+    scrollSummaries: async (cursor, size = 20) => {
+        try {
+            const response = await api.get('/v1/summaries/scroll', {
+                params: { size, ...(cursor && { cursor }) },
+            });
+            return response.data.data || response.data;
+        } catch (error) {
+            const parsedError = parseApiError(error);
+            throw parsedError;
+        }
+    },
+
     // Get a specific summary by ID
     getSummaryById: async (id) => {
         try {